@@ -0,0 +1,48 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Id lookup over a snapshot's employees, so an employee known to the snapshot is found without asking the Mock API.
+ * <p>
+ * The map is built lazily on the first lookup, so each snapshot version pays for at most one build.
+ */
+public final class EmployeeIdIndex {
+
+    private final List<Employee> employees;
+    private volatile Map<String, Integer> positions;
+
+    public EmployeeIdIndex(List<Employee> employees) {
+        this.employees = employees;
+    }
+
+    public Optional<Employee> find(String id) {
+        int position = position(id);
+        return position < 0 ? Optional.empty() : Optional.of(employees.get(position));
+    }
+
+    /**
+     * Returns the position of the first employee with the given id, or {@code -1} if there is none.
+     */
+    int position(String id) {
+        Integer position = positions().get(id);
+        return position == null ? -1 : position;
+    }
+
+    private Map<String, Integer> positions() {
+        Map<String, Integer> index = positions;
+        if (index == null) {
+            // Racing builders produce equal maps, so the extra work is the only cost
+            index = new HashMap<>(employees.size() * 2);
+            for (int i = 0; i < employees.size(); i++) {
+                index.putIfAbsent(employees.get(i).getId(), i);
+            }
+            positions = index;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,218 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The employees of one snapshot version: a base list with its name and id indexes, and the creates and deletes
+ * applied since laid over it.
+ * <p>
+ * Applying a batch of changes copies only the overlay, never the base list, and the base indexes carry over to the
+ * new version instead of being rebuilt. Once the overlay outgrows {@code sqrt(n)} entries it is folded into a new
+ * base, so a change costs O(sqrt(n)) amortised. A create of an id already present replaces it in place, keeping the
+ * order a full reload would give.
+ * <p>
+ * The flat list is assembled lazily on the first positional read, so each version pays for at most one.
+ */
+public final class EmployeeList extends AbstractList<Employee> implements RandomAccess {
+
+    private static final int MIN_OVERLAY = 32;
+
+    private final Base base;
+    // Base positions replaced by a create with the same id, and base positions deleted
+    private final Map<Integer, Employee> replaced;
+    private final Set<Integer> deleted;
+    // Employees created since the base was built, by id, in list order
+    private final Map<String, Employee> appended;
+    private final int size;
+    private volatile Employee[] flattened;
+
+    private EmployeeList(
+            Base base, Map<Integer, Employee> replaced, Set<Integer> deleted, Map<String, Employee> appended) {
+        this.base = base;
+        this.replaced = replaced;
+        this.deleted = deleted;
+        this.appended = appended;
+        this.size = base.employees().size() - deleted.size() + appended.size();
+    }
+
+    /**
+     * Wraps {@code employees}, which must not change afterwards, as a list with no overlay.
+     */
+    static EmployeeList of(List<Employee> employees) {
+        Base base = new Base(employees, new EmployeeNameIndex(employees), new EmployeeIdIndex(employees));
+        return new EmployeeList(base, Map.of(), Set.of(), Map.of());
+    }
+
+    @Override
+    public Employee get(int index) {
+        if (isBaseOnly()) {
+            return base.employees().get(index);
+        }
+        Employee[] employees = flattened();
+        if (index < 0 || index >= employees.length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + employees.length);
+        }
+        return employees[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public Optional<Employee> findById(String id) {
+        Employee created = appended.get(id);
+        if (created != null) {
+            return Optional.of(created);
+        }
+        int position = base.ids().position(id);
+        if (position < 0 || deleted.contains(position)) {
+            return Optional.empty();
+        }
+        return Optional.of(replaced.getOrDefault(position, base.employees().get(position)));
+    }
+
+    /**
+     * Returns employees whose name contains {@code fragment}, in list order. The base is searched through its name
+     * index; only the overlay's own entries are checked one by one.
+     *
+     * @param limit maximum number of matches to collect; zero or negative means no limit
+     */
+    public List<Employee> search(String fragment, int limit) {
+        if (isBaseOnly()) {
+            return base.names().search(fragment, limit);
+        }
+        // Base positions the overlay hides may use up matches, so a limited search asks the base for that many more
+        long hidden = replaced.size() + deleted.size();
+        int baseLimit = limit > 0 ? (int) Math.min(Integer.MAX_VALUE, limit + hidden) : 0;
+
+        TreeMap<Integer, Employee> inBase = new TreeMap<>();
+        for (int position : base.names().positions(fragment, baseLimit)) {
+            if (!deleted.contains(position) && !replaced.containsKey(position)) {
+                inBase.put(position, base.employees().get(position));
+            }
+        }
+        String query = EmployeeNameIndex.fold(fragment);
+        replaced.forEach((position, employee) -> {
+            if (nameContains(employee, query)) {
+                inBase.put(position, employee);
+            }
+        });
+
+        int max = limit > 0 ? limit : Integer.MAX_VALUE;
+        List<Employee> matches = new ArrayList<>(inBase.values());
+        for (Employee employee : appended.values()) {
+            if (matches.size() >= max) {
+                break;
+            }
+            if (nameContains(employee, query)) {
+                matches.add(employee);
+            }
+        }
+        return Collections.unmodifiableList(matches.size() > max ? matches.subList(0, max) : matches);
+    }
+
+    /**
+     * Starts a batch of changes on a copy of the overlay.
+     */
+    Editor edit() {
+        return new Editor();
+    }
+
+    private boolean isBaseOnly() {
+        return replaced.isEmpty() && deleted.isEmpty() && appended.isEmpty();
+    }
+
+    private Employee[] flattened() {
+        Employee[] employees = flattened;
+        if (employees == null) {
+            // Racing builders produce equal arrays, so the extra work is the only cost
+            employees = new Employee[size];
+            int next = 0;
+            List<Employee> baseEmployees = base.employees();
+            for (int position = 0; position < baseEmployees.size(); position++) {
+                if (!deleted.contains(position)) {
+                    employees[next++] = replaced.getOrDefault(position, baseEmployees.get(position));
+                }
+            }
+            for (Employee employee : appended.values()) {
+                employees[next++] = employee;
+            }
+            flattened = employees;
+        }
+        return employees;
+    }
+
+    private static boolean nameContains(Employee employee, String query) {
+        return employee.getName() != null && EmployeeNameIndex.fold(employee.getName()).contains(query);
+    }
+
+    private record Base(List<Employee> employees, EmployeeNameIndex names, EmployeeIdIndex ids) {}
+
+    /**
+     * Applies creates and deletes to a copy of the overlay. Discarded once {@link #build()} has been called.
+     */
+    final class Editor {
+        private final Map<Integer, Employee> replacedEdits = new HashMap<>(replaced);
+        private final Set<Integer> deletedEdits = new HashSet<>(deleted);
+        private final Map<String, Employee> appendedEdits = new LinkedHashMap<>(appended);
+
+        /**
+         * Adds {@code employee}, replacing the one with the same id in place.
+         *
+         * @return the employee replaced, or {@code null} if the id was not in the list
+         */
+        Employee put(Employee employee) {
+            String id = employee.getId();
+            if (appendedEdits.containsKey(id)) {
+                return appendedEdits.put(id, employee);
+            }
+            int position = base.ids().position(id);
+            if (position >= 0 && !deletedEdits.contains(position)) {
+                Employee previous = replacedEdits.put(position, employee);
+                return previous != null ? previous : base.employees().get(position);
+            }
+            appendedEdits.put(id, employee);
+            return null;
+        }
+
+        /**
+         * Removes the employee with the given id.
+         *
+         * @return the employee removed, or {@code null} if the id was not in the list
+         */
+        Employee remove(String id) {
+            Employee created = appendedEdits.remove(id);
+            if (created != null) {
+                return created;
+            }
+            int position = base.ids().position(id);
+            if (position < 0 || !deletedEdits.add(position)) {
+                return null;
+            }
+            Employee previous = replacedEdits.remove(position);
+            return previous != null ? previous : base.employees().get(position);
+        }
+
+        EmployeeList build() {
+            EmployeeList edited = new EmployeeList(base, replacedEdits, deletedEdits, appendedEdits);
+            int overlay = replacedEdits.size() + deletedEdits.size() + appendedEdits.size();
+            if (overlay > Math.max(MIN_OVERLAY, (int) Math.sqrt(base.employees().size()))) {
+                return of(List.copyOf(edited));
+            }
+            return edited;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.util.List;
+import reactor.core.publisher.Flux;
+
+/**
+ * One answer from the Mock API about the employee list: the whole list, the changes since the snapshot we hold, or
+ * word that the list has not changed.
+ *
+ * @param etag entity tag the whole list was served with, or {@code null} if the Mock API sent none
+ * @param upstreamVersion Mock API data set version the answer brings us to, or {@code null} if it sent none
+ * @param employees the whole list, or {@code null} if this answer is not one
+ * @param changes creates and deletes since the snapshot we hold, oldest first, or {@code null} if this answer is not
+ *     a change list
+ */
+public record EmployeeListing(
+        String etag, Long upstreamVersion, Flux<Employee> employees, List<EmployeeChange> changes) {
+
+    public static EmployeeListing of(String etag, Long upstreamVersion, Flux<Employee> employees) {
+        return new EmployeeListing(etag, upstreamVersion, employees, null);
+    }
+
+    public static EmployeeListing changes(Long upstreamVersion, List<EmployeeChange> changes) {
+        return new EmployeeListing(null, upstreamVersion, null, changes);
+    }
+
+    public static EmployeeListing notModified() {
+        return new EmployeeListing(null, null, null, null);
+    }
+
+    public boolean isNotModified() {
+        return employees == null && changes == null;
+    }
+}
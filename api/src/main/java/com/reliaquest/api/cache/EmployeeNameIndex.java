@@ -0,0 +1,222 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram inverted index for case- and accent-insensitive substring search over employee names.
+ * <p>
+ * Every name is folded once (decomposed, combining marks stripped, lower-cased) and each distinct trigram maps to a
+ * sorted postings list of employee positions. A query intersects the postings of its own trigrams, shortest list
+ * first, and verifies the surviving candidates with {@link String#contains}. Fragments shorter than a trigram fall
+ * back to scanning the pre-folded names.
+ * <p>
+ * The postings are built lazily on the first query, so each snapshot version pays for at most one build.
+ */
+public final class EmployeeNameIndex {
+
+    private static final int GRAM = 3;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final List<Employee> employees;
+    private volatile Postings postings;
+
+    public EmployeeNameIndex(List<Employee> employees) {
+        this.employees = employees;
+    }
+
+    /**
+     * Returns employees whose name contains {@code fragment}, in snapshot order.
+     *
+     * @param limit maximum number of matches to collect; zero or negative means no limit
+     */
+    public List<Employee> search(String fragment, int limit) {
+        int[] positions = positions(fragment, limit);
+        List<Employee> matches = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            matches.add(employees.get(position));
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    /**
+     * Returns the positions of employees whose name contains {@code fragment}, in ascending order.
+     *
+     * @param limit maximum number of matches to collect; zero or negative means no limit
+     */
+    int[] positions(String fragment, int limit) {
+        int max = limit > 0 ? limit : Integer.MAX_VALUE;
+        String query = fold(fragment);
+        Postings index = postings();
+
+        IntList matches = new IntList();
+        if (query.length() < GRAM) {
+            for (int i = 0; i < index.names.length && matches.size() < max; i++) {
+                if (index.names[i] != null && index.names[i].contains(query)) {
+                    matches.addIfAbsent(i);
+                }
+            }
+            return matches.toArray();
+        }
+
+        int[][] lists = index.postingsFor(query);
+        if (lists.length == 0) {
+            return new int[0];
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+        int[] cursors = new int[lists.length];
+        for (int candidate : lists[0]) {
+            if (matches.size() >= max) {
+                break;
+            }
+            if (presentInAll(lists, cursors, candidate) && index.names[candidate].contains(query)) {
+                matches.addIfAbsent(candidate);
+            }
+        }
+        return matches.toArray();
+    }
+
+    /**
+     * Case-folds and strips accents so that "Jos&eacute;" and "jose" index identically.
+     */
+    static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private Postings postings() {
+        Postings built = postings;
+        if (built == null) {
+            synchronized (this) {
+                built = postings;
+                if (built == null) {
+                    built = Postings.build(employees);
+                    postings = built;
+                }
+            }
+        }
+        return built;
+    }
+
+    /**
+     * Candidates arrive in ascending order, so each list is only ever searched forward from its last position.
+     */
+    private static boolean presentInAll(int[][] lists, int[] cursors, int candidate) {
+        for (int i = 1; i < lists.length; i++) {
+            int[] list = lists[i];
+            int found = Arrays.binarySearch(list, cursors[i], list.length, candidate);
+            if (found < 0) {
+                cursors[i] = -found - 1;
+                return false;
+            }
+            cursors[i] = found + 1;
+        }
+        return true;
+    }
+
+    private static long trigram(String folded, int offset) {
+        return ((long) folded.charAt(offset) << 32)
+                | ((long) folded.charAt(offset + 1) << 16)
+                | folded.charAt(offset + 2);
+    }
+
+    private static final class Postings {
+        private final String[] names;
+        private final long[] trigrams;
+        private final int[][] positions;
+
+        private Postings(String[] names, long[] trigrams, int[][] positions) {
+            this.names = names;
+            this.trigrams = trigrams;
+            this.positions = positions;
+        }
+
+        static Postings build(List<Employee> employees) {
+            String[] names = new String[employees.size()];
+            Map<Long, IntList> grams = new HashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                String name = employees.get(i).getName();
+                if (name == null) {
+                    continue;
+                }
+                String folded = fold(name);
+                names[i] = folded;
+                for (int offset = 0; offset + GRAM <= folded.length(); offset++) {
+                    grams.computeIfAbsent(trigram(folded, offset), key -> new IntList())
+                            .addIfAbsent(i);
+                }
+            }
+
+            long[] trigrams = grams.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            int[][] positions = new int[trigrams.length][];
+            for (int i = 0; i < trigrams.length; i++) {
+                positions[i] = grams.get(trigrams[i]).toArray();
+            }
+            return new Postings(names, trigrams, positions);
+        }
+
+        /**
+         * Returns the postings of every distinct trigram in {@code query}, or none if any trigram never occurs.
+         */
+        int[][] postingsFor(String query) {
+            int count = query.length() - GRAM + 1;
+            int[][] lists = new int[count][];
+            int distinct = 0;
+            for (int offset = 0; offset < count; offset++) {
+                int slot = Arrays.binarySearch(trigrams, trigram(query, offset));
+                if (slot < 0) {
+                    return new int[0][];
+                }
+                if (!containsSame(lists, distinct, positions[slot])) {
+                    lists[distinct++] = positions[slot];
+                }
+            }
+            return Arrays.copyOf(lists, distinct);
+        }
+
+        private static boolean containsSame(int[][] lists, int size, int[] list) {
+            for (int i = 0; i < size; i++) {
+                if (lists[i] == list) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Growable ascending list of positions; positions are added in increasing order.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addIfAbsent(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
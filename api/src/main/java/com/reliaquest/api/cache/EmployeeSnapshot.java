@@ -0,0 +1,159 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable, versioned view of the employee list as last seen from the Mock API.
+ * <p>
+ * Creates and deletes, whether our own or pushed by the Mock API, are applied incrementally: the employee list only
+ * copies its overlay and keeps its indexes, and the salary summary is folded rather than recomputed unless a change
+ * removes a top earner or the minimum.
+ *
+ * @param version monotonically increasing per published snapshot
+ * @param employees unmodifiable employee list, with its name search and id lookup
+ * @param fetchedAt when the list was last synchronised with the Mock API; local mutations keep it unchanged
+ * @param etag entity tag of the Mock API list this snapshot was loaded from, or {@code null} if it sent none
+ * @param upstreamVersion Mock API data set version this snapshot is synchronised with, or {@code null} if unknown
+ * @param salarySummary salary aggregates over {@code employees}
+ */
+public record EmployeeSnapshot(
+        long version,
+        EmployeeList employees,
+        Instant fetchedAt,
+        String etag,
+        Long upstreamVersion,
+        SalarySummary salarySummary) {
+
+    public static final int TOP_EARNERS = 10;
+
+    public static EmployeeSnapshot of(long version, List<Employee> employees, Instant fetchedAt) {
+        EmployeeList list = EmployeeList.of(List.copyOf(employees));
+        return new EmployeeSnapshot(version, list, fetchedAt, null, null, SalarySummary.of(list, TOP_EARNERS));
+    }
+
+    public Duration age(Instant now) {
+        return Duration.between(fetchedAt, now);
+    }
+
+    /**
+     * Returns a copy confirmed unchanged by the Mock API at {@code now}. Version, contents and indexes are reused.
+     */
+    EmployeeSnapshot revalidated(Instant now) {
+        return new EmployeeSnapshot(version, employees, now, etag, upstreamVersion, salarySummary);
+    }
+
+    /**
+     * Returns a copy with the Mock API's {@code changes} applied, synchronised with it at {@code now}. Changes the
+     * snapshot already has, such as our own writes, are harmless: a create replaces the employee with the same id in
+     * place, and a delete of a missing employee does nothing.
+     */
+    EmployeeSnapshot withChanges(long newVersion, List<EmployeeChange> changes, Long newUpstreamVersion, Instant now) {
+        Edit edit = new Edit(this);
+        for (EmployeeChange change : changes) {
+            if (change.getType() == EmployeeChange.Type.CREATED) {
+                edit.create(change.getEmployee());
+            } else {
+                edit.delete(change.getEmployee().getId());
+            }
+        }
+        return edit.build(newVersion, now, newUpstreamVersion);
+    }
+
+    /**
+     * Returns a copy with the given employee added, replacing any existing entry with the same id.
+     */
+    EmployeeSnapshot withEmployee(long newVersion, Employee employee) {
+        Edit edit = new Edit(this);
+        edit.create(employee);
+        return edit.build(newVersion, fetchedAt, upstreamVersion);
+    }
+
+    /**
+     * Returns a copy without the employee with the given id.
+     */
+    EmployeeSnapshot withoutEmployee(long newVersion, String id) {
+        Edit edit = new Edit(this);
+        return edit.delete(id) ? edit.build(newVersion, fetchedAt, upstreamVersion) : this;
+    }
+
+    /**
+     * One batch of creates and deletes, applied to a copy of the list's overlay and folded into the salary summary.
+     */
+    private static final class Edit {
+        private final EmployeeSnapshot snapshot;
+        private final EmployeeList.Editor employees;
+        // Null once a change has made the summary impossible to fold, so it is rebuilt from the final list instead
+        private SalarySummary summary;
+
+        Edit(EmployeeSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.employees = snapshot.employees().edit();
+            this.summary = snapshot.salarySummary();
+        }
+
+        void create(Employee employee) {
+            Employee previous = employees.put(employee);
+            if (summary != null) {
+                summary = previous == null
+                        ? summary.plus(employee)
+                        : summary.replacing(previous, employee).orElse(null);
+            }
+        }
+
+        boolean delete(String id) {
+            Employee removed = employees.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            if (summary != null) {
+                summary = summary.without(removed).orElse(null);
+            }
+            return true;
+        }
+
+        EmployeeSnapshot build(long version, Instant fetchedAt, Long upstreamVersion) {
+            EmployeeList updated = employees.build();
+            return new EmployeeSnapshot(
+                    version,
+                    updated,
+                    fetchedAt,
+                    snapshot.etag(),
+                    upstreamVersion,
+                    summary != null ? summary : SalarySummary.of(updated, TOP_EARNERS));
+        }
+    }
+
+    /**
+     * Collects a snapshot from a stream of employees, folding each salary into the summary as it arrives.
+     */
+    static final class Builder {
+        private final List<Employee> employees = new ArrayList<>();
+        private final SalarySummary.Accumulator salaries = new SalarySummary.Accumulator(TOP_EARNERS);
+
+        void add(Employee employee) {
+            employees.add(employee);
+            salaries.add(employee);
+        }
+
+        int size() {
+            return employees.size();
+        }
+
+        EmployeeSnapshot build(long version, Instant fetchedAt, String etag, Long upstreamVersion) {
+            // The builder is discarded after this, so the list can be handed over without a copy
+            return new EmployeeSnapshot(
+                    version,
+                    EmployeeList.of(Collections.unmodifiableList(employees)),
+                    fetchedAt,
+                    etag,
+                    upstreamVersion,
+                    salaries.build());
+        }
+    }
+}
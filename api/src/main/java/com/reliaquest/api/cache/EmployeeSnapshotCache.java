@@ -0,0 +1,300 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.utils.ErrorUtil;
+import com.reliaquest.api.utils.SingleFlight;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds the latest {@link EmployeeSnapshot} and replaces it atomically on refresh.
+ * <p>
+ * Reads are served from memory while the snapshot is younger than {@code maxStaleness}; only a cold start or an
+ * expired snapshot goes to the Mock API on the caller's path. When a refresh fails because the Mock API is rate
+ * limiting or erroring, the previous snapshot keeps being served until it expires (stale-if-error). Concurrent
+ * loads and refreshes are coalesced into a single call to the Mock API.
+ * <p>
+ * The loader is handed the current snapshot, so it can ask the Mock API for only what has changed since. When it
+ * reports the list unchanged, the snapshot is kept as it is, indexes included, and only counted as fetched again;
+ * when it returns a list of changes, they are applied to the snapshot instead of replacing it.
+ * <p>
+ * Creates and deletes applied while a full load is in flight are recorded and replayed onto the loaded list before
+ * it is published, since the Mock API may have read that list before they went through. Recording stops as soon as
+ * the load ends any other way: unchanged, with a change list, or with an error.
+ */
+public class EmployeeSnapshotCache {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSnapshotCache.class);
+    private static final String ALL_EMPLOYEES = "all";
+
+    private final Function<EmployeeSnapshot, Mono<EmployeeListing>> loader;
+    private final Duration maxStaleness;
+    private final Clock clock;
+    private final AtomicReference<State> current = new AtomicReference<>(State.EMPTY);
+    private final SingleFlight<String, EmployeeSnapshot> refreshCalls = new SingleFlight<>();
+
+    public EmployeeSnapshotCache(Supplier<Flux<Employee>> loader, Duration maxStaleness) {
+        this(loader, maxStaleness, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a cache whose loader is given the current snapshot, or {@code null} if there is none yet.
+     */
+    public EmployeeSnapshotCache(Function<EmployeeSnapshot, Mono<EmployeeListing>> loader, Duration maxStaleness) {
+        this(loader, maxStaleness, Clock.systemUTC());
+    }
+
+    EmployeeSnapshotCache(Supplier<Flux<Employee>> loader, Duration maxStaleness, Clock clock) {
+        this(previous -> Mono.fromSupplier(() -> EmployeeListing.of(null, null, loader.get())), maxStaleness, clock);
+    }
+
+    EmployeeSnapshotCache(
+            Function<EmployeeSnapshot, Mono<EmployeeListing>> loader, Duration maxStaleness, Clock clock) {
+        this.loader = loader;
+        this.maxStaleness = maxStaleness;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current snapshot, loading it from the Mock API only on a cold start or once it has expired.
+     */
+    public Mono<EmployeeSnapshot> get() {
+        return Mono.defer(() -> {
+            EmployeeSnapshot snapshot = current.get().snapshot();
+            if (snapshot != null && !isExpired(snapshot)) {
+                return Mono.just(snapshot);
+            }
+            return refresh();
+        });
+    }
+
+    /**
+     * Re-fetches the employee list and publishes it as a new snapshot version.
+     */
+    public Mono<EmployeeSnapshot> refresh() {
+        return Mono.fromFuture(() -> refreshCalls.execute(ALL_EMPLOYEES, () -> load().toFuture()), true);
+    }
+
+    /**
+     * Returns the current snapshot without triggering a load, if one is still fresh enough to serve.
+     */
+    public Optional<EmployeeSnapshot> peek() {
+        return Optional.ofNullable(current.get().snapshot()).filter(snapshot -> !isExpired(snapshot));
+    }
+
+    /**
+     * Applies a successful create to the snapshot so callers read their own writes before the next refresh.
+     */
+    public void applyCreated(Employee employee) {
+        EmployeeSnapshot updated = write(snapshot -> snapshot.withEmployee(snapshot.version() + 1, employee));
+        if (updated != null) {
+            log.debug("Applied created employee {} to snapshot v{}", employee.getId(), updated.version());
+        }
+    }
+
+    /**
+     * Applies a successful delete to the snapshot so callers read their own writes before the next refresh.
+     */
+    public void applyDeleted(String id) {
+        EmployeeSnapshot updated = write(snapshot -> snapshot.withoutEmployee(snapshot.version() + 1, id));
+        if (updated != null) {
+            log.debug("Applied deleted employee {} to snapshot v{}", id, updated.version());
+        }
+    }
+
+    /**
+     * Applies creates and deletes from the Mock API, bringing the snapshot to {@code upstreamVersion}. Changes the
+     * snapshot already has are harmless.
+     */
+    public Optional<EmployeeSnapshot> applyChanges(List<EmployeeChange> changes, Long upstreamVersion) {
+        Instant now = clock.instant();
+        // Replayed onto a newer full load, the changes must not move its version or sync time back
+        EmployeeSnapshot snapshot = write(existing -> existing.withChanges(
+                existing.version() + 1,
+                changes,
+                later(existing.upstreamVersion(), upstreamVersion),
+                later(existing.fetchedAt(), now)));
+        if (snapshot != null) {
+            log.debug(
+                    "Applied {} employee changes to snapshot v{}, now at Mock API version {}",
+                    changes.size(),
+                    snapshot.version(),
+                    snapshot.upstreamVersion());
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * Records that the Mock API has confirmed the snapshot is current, restarting its age.
+     */
+    public Optional<EmployeeSnapshot> revalidate() {
+        // Local writes applied meanwhile are kept: they went through on the Mock API, just after it answered
+        EmployeeSnapshot snapshot = current.updateAndGet(state -> state.revalidated(clock.instant())).snapshot();
+        if (snapshot != null) {
+            log.debug("Employee snapshot v{} unchanged on the Mock API", snapshot.version());
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    public SingleFlight<String, EmployeeSnapshot> getRefreshCalls() {
+        return refreshCalls;
+    }
+
+    /**
+     * Whether writes are being kept for replay onto a full load in flight.
+     */
+    boolean isRecordingWrites() {
+        return current.get().writes() != null;
+    }
+
+    private Mono<EmployeeSnapshot> load() {
+        return Mono.defer(() -> loader.apply(current.updateAndGet(State::loading).snapshot()))
+                .flatMap(listing -> {
+                    if (listing.employees() == null) {
+                        // Writes went straight to the current snapshot, and there is no loaded list to replay them on
+                        stopRecordingWrites();
+                    }
+                    if (listing.isNotModified() || (listing.changes() != null && listing.changes().isEmpty())) {
+                        return present(revalidate());
+                    }
+                    if (listing.changes() != null) {
+                        return present(applyChanges(listing.changes(), listing.upstreamVersion()));
+                    }
+                    return listing.employees()
+                            .collect(EmployeeSnapshot.Builder::new, EmployeeSnapshot.Builder::add)
+                            .map(builder -> publish(builder, listing));
+                })
+                .doOnError(error -> stopRecordingWrites())
+                .doOnCancel(this::stopRecordingWrites)
+                .onErrorResume(ErrorUtil::isUpstreamUnavailable, this::serveStale);
+    }
+
+    /**
+     * Publishes a loaded list over whatever snapshot is current, replaying the writes applied since the load started.
+     * The list may have been read before those writes went through on the Mock API, so they are applied again;
+     * creates and deletes it already reflects are harmless.
+     */
+    private EmployeeSnapshot publish(EmployeeSnapshot.Builder builder, EmployeeListing listing) {
+        Instant now = clock.instant();
+        while (true) {
+            State state = current.get();
+            long version = state.snapshot() == null ? 1 : state.snapshot().version() + 1;
+            EmployeeSnapshot snapshot = builder.build(version, now, listing.etag(), listing.upstreamVersion());
+            Deque<UnaryOperator<EmployeeSnapshot>> replayed =
+                    (state.writes() == null ? Writes.NONE : state.writes()).oldestFirst();
+            for (UnaryOperator<EmployeeSnapshot> write : replayed) {
+                snapshot = write.apply(snapshot);
+            }
+            if (current.compareAndSet(state, new State(snapshot, null))) {
+                log.debug(
+                        "Published employee snapshot v{} with {} employees, {} writes replayed",
+                        snapshot.version(),
+                        builder.size(),
+                        replayed.size());
+                return snapshot;
+            }
+        }
+    }
+
+    /**
+     * Applies {@code write} to the current snapshot, recording it for replay if a full load is in flight.
+     */
+    private EmployeeSnapshot write(UnaryOperator<EmployeeSnapshot> write) {
+        return current.updateAndGet(state -> state.with(write)).snapshot();
+    }
+
+    /**
+     * Ends a load that publishes no list of its own, so later writes are no longer kept for replay.
+     */
+    private void stopRecordingWrites() {
+        current.updateAndGet(State::loaded);
+    }
+
+    private static Mono<EmployeeSnapshot> present(Optional<EmployeeSnapshot> snapshot) {
+        return Mono.justOrEmpty(snapshot)
+                .switchIfEmpty(Mono.error(() ->
+                        new IllegalStateException("Mock API sent an update, but there is no snapshot to apply it to")));
+    }
+
+    private Mono<EmployeeSnapshot> serveStale(Throwable error) {
+        EmployeeSnapshot snapshot = current.get().snapshot();
+        if (snapshot == null || isExpired(snapshot)) {
+            return Mono.error(error);
+        }
+        log.warn(
+                "Mock API unavailable, serving stale employee snapshot v{} ({} old): {}",
+                snapshot.version(),
+                snapshot.age(clock.instant()),
+                error.getMessage());
+        return Mono.just(snapshot);
+    }
+
+    private boolean isExpired(EmployeeSnapshot snapshot) {
+        return snapshot.age(clock.instant()).compareTo(maxStaleness) > 0;
+    }
+
+    private static Long later(Long version, Long other) {
+        return version == null ? other : other == null ? version : Long.valueOf(Math.max(version, other));
+    }
+
+    private static Instant later(Instant instant, Instant other) {
+        return instant.isAfter(other) ? instant : other;
+    }
+
+    /**
+     * The published snapshot, and the writes applied to it since the full load in flight started.
+     * <p>
+     * Every new snapshot is derived from the one it replaces, taking the next version number, so retried updates
+     * never skip a version and a concurrent write always lands on top of whatever was published before it.
+     *
+     * @param writes writes since the load in flight started, newest first, or {@code null} if no load is
+     */
+    private record State(EmployeeSnapshot snapshot, Writes writes) {
+        static final State EMPTY = new State(null, null);
+
+        State loading() {
+            return new State(snapshot, Writes.NONE);
+        }
+
+        State loaded() {
+            return writes == null ? this : new State(snapshot, null);
+        }
+
+        State with(UnaryOperator<EmployeeSnapshot> write) {
+            EmployeeSnapshot updated = snapshot == null ? null : write.apply(snapshot);
+            return new State(updated, writes == null ? null : new Writes(write, writes));
+        }
+
+        State revalidated(Instant now) {
+            return snapshot == null ? this : new State(snapshot.revalidated(now), writes);
+        }
+    }
+
+    /**
+     * Immutable list of writes, newest first, so a write is recorded without copying the ones before it.
+     */
+    private record Writes(UnaryOperator<EmployeeSnapshot> latest, Writes earlier) {
+        static final Writes NONE = new Writes(null, null);
+
+        Deque<UnaryOperator<EmployeeSnapshot>> oldestFirst() {
+            Deque<UnaryOperator<EmployeeSnapshot>> writes = new ArrayDeque<>();
+            for (Writes node = this; node.latest != null; node = node.earlier) {
+                writes.addFirst(node.latest);
+            }
+            return writes;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
+import java.util.function.Supplier;
+
+/**
+ * Salary aggregates for one snapshot version: count, sum, max, min and the top-K earners.
+ * <p>
+ * Built in a single O(n log K) pass with a bounded heap while a snapshot is loaded, then carried forward through
+ * creates and deletes. A create is folded in directly; a delete only forces a rebuild when it removes one of the
+ * top-K earners or the current minimum, since neither can be recovered from the aggregates alone. A create that
+ * replaces an employee in place keeps the summary when the salary is unchanged and it is not a top earner.
+ * <p>
+ * Earners with equal salaries keep their snapshot order, matching a stable descending sort of the list. Employees
+ * without a salary are left out of every aggregate.
+ */
+public final class SalarySummary {
+
+    private static final Comparator<Entry> RANKING =
+            Comparator.comparingInt(Entry::salary).reversed().thenComparingLong(Entry::sequence);
+
+    private final int k;
+    private final long count;
+    private final long sum;
+    private final int max;
+    private final int min;
+    private final Entry[] top;
+    private final long nextSequence;
+    private final List<String> topEarnerNames;
+
+    private SalarySummary(int k, long count, long sum, int max, int min, Entry[] top, long nextSequence) {
+        this(k, count, sum, max, min, top, nextSequence, Arrays.stream(top).map(Entry::name).toList());
+    }
+
+    private SalarySummary(
+            int k,
+            long count,
+            long sum,
+            int max,
+            int min,
+            Entry[] top,
+            long nextSequence,
+            List<String> topEarnerNames) {
+        this.k = k;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+        this.min = min;
+        this.top = top;
+        this.nextSequence = nextSequence;
+        this.topEarnerNames = topEarnerNames;
+    }
+
+    public static SalarySummary of(List<Employee> employees, int k) {
+        Accumulator accumulator = new Accumulator(k);
+        employees.forEach(accumulator::add);
+        return accumulator.build();
+    }
+
+    /**
+     * Returns the summary after {@code employee} has been appended to the snapshot.
+     */
+    SalarySummary plus(Employee employee) {
+        Integer salary = employee.getSalary();
+        if (salary == null) {
+            return new SalarySummary(k, count, sum, max, min, top, nextSequence + 1, topEarnerNames);
+        }
+
+        Entry entry = new Entry(salary, nextSequence, employee.getId(), employee.getName());
+        int updatedMax = count == 0 ? salary : Math.max(max, salary);
+        int updatedMin = count == 0 ? salary : Math.min(min, salary);
+        if (top.length < k || (k > 0 && RANKING.compare(entry, top[top.length - 1]) < 0)) {
+            List<Entry> merged = new ArrayList<>(Arrays.asList(top));
+            merged.add(entry);
+            merged.sort(RANKING);
+            Entry[] updatedTop = merged.subList(0, Math.min(k, merged.size())).toArray(new Entry[0]);
+            return new SalarySummary(k, count + 1, sum + salary, updatedMax, updatedMin, updatedTop, nextSequence + 1);
+        }
+        return new SalarySummary(
+                k, count + 1, sum + salary, updatedMax, updatedMin, top, nextSequence + 1, topEarnerNames);
+    }
+
+    /**
+     * Returns the summary after {@code employee} has been removed from the snapshot, falling back to
+     * {@code rebuild} when the removal touches the top-K or the minimum.
+     */
+    SalarySummary minus(Employee employee, Supplier<SalarySummary> rebuild) {
+        return without(employee).orElseGet(rebuild);
+    }
+
+    /**
+     * Returns the summary after {@code employee} has been removed from the snapshot, or empty if the removal touches
+     * the top-K or the minimum and the summary has to be rebuilt.
+     */
+    Optional<SalarySummary> without(Employee employee) {
+        Integer salary = employee.getSalary();
+        if (salary == null) {
+            return Optional.of(this);
+        }
+        if (isTopEarner(employee) || salary == min) {
+            return Optional.empty();
+        }
+        return Optional.of(new SalarySummary(k, count - 1, sum - salary, max, min, top, nextSequence, topEarnerNames));
+    }
+
+    /**
+     * Returns the summary after {@code previous} has been replaced in place by {@code employee}, or empty if the
+     * summary has to be rebuilt. Only a same-salary replacement outside the top-K leaves it unchanged.
+     */
+    Optional<SalarySummary> replacing(Employee previous, Employee employee) {
+        if (Objects.equals(previous.getSalary(), employee.getSalary()) && !isTopEarner(previous)) {
+            return Optional.of(this);
+        }
+        return Optional.empty();
+    }
+
+    public OptionalInt max() {
+        return count == 0 ? OptionalInt.empty() : OptionalInt.of(max);
+    }
+
+    public OptionalInt min() {
+        return count == 0 ? OptionalInt.empty() : OptionalInt.of(min);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    /**
+     * Names of the top-K earners, highest salary first.
+     */
+    public List<String> topEarnerNames() {
+        return topEarnerNames;
+    }
+
+    private boolean isTopEarner(Employee employee) {
+        return Arrays.stream(top).anyMatch(entry -> Objects.equals(entry.id(), employee.getId()));
+    }
+
+    private record Entry(int salary, long sequence, String id, String name) {}
+
+    /**
+     * Builds a summary one employee at a time, in snapshot order, so it can be computed while the employee list is
+     * still streaming in.
+     */
+    static final class Accumulator {
+        private final int k;
+        // Min-heap on rank: the head is the weakest of the current top-K
+        private final PriorityQueue<Entry> heap;
+        private long count;
+        private long sum;
+        private int max = Integer.MIN_VALUE;
+        private int min = Integer.MAX_VALUE;
+        private long sequence;
+
+        Accumulator(int k) {
+            this.k = k;
+            this.heap = new PriorityQueue<>(k + 1, RANKING.reversed());
+        }
+
+        void add(Employee employee) {
+            long position = sequence++;
+            Integer salary = employee.getSalary();
+            if (salary == null) {
+                return;
+            }
+            count++;
+            sum += salary;
+            max = Math.max(max, salary);
+            min = Math.min(min, salary);
+            // Later positions lose ties, so only a strictly higher salary can displace the weakest entry
+            if (heap.size() < k) {
+                heap.add(new Entry(salary, position, employee.getId(), employee.getName()));
+            } else if (k > 0 && salary > heap.peek().salary()) {
+                heap.poll();
+                heap.add(new Entry(salary, position, employee.getId(), employee.getName()));
+            }
+        }
+
+        SalarySummary build() {
+            Entry[] top = heap.toArray(new Entry[0]);
+            Arrays.sort(top, RANKING);
+            return new SalarySummary(k, count, sum, max, min, top, sequence);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.utils.UpstreamMetrics;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(EmployeeApiProperties.class)
+public class ApiConfiguration {
+
+    /**
+     * Bound to the meter registry by Spring Boot. Publishes the {@code employee.upstream.*} metrics: upstream call
+     * timings, 429s and retries, and what the coalescing, batching and rate limiting in front of the Mock API report.
+     */
+    @Bean
+    public UpstreamMetrics upstreamMetrics() {
+        return new UpstreamMetrics();
+    }
+
+    /**
+     * Connection pool for the Mock API, bounded and evicting idle connections in the background. Publishes the
+     * {@code reactor.netty.connection.provider.*} metrics: active, idle and pending connections, and the time taken
+     * to acquire one.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider employeeApiConnectionProvider(EmployeeApiProperties properties) {
+        EmployeeApiProperties.Transport transport = properties.getTransport();
+        return ConnectionProvider.builder("employee-api")
+                .maxConnections(transport.getMaxConnections())
+                .pendingAcquireMaxCount(transport.getMaxPendingAcquires())
+                .pendingAcquireTimeout(transport.getPendingAcquireTimeout())
+                .maxIdleTime(transport.getMaxIdleTime())
+                .maxLifeTime(transport.getMaxLifeTime())
+                .evictInBackground(transport.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Picked up by the auto-configured {@code WebClient.Builder} the Mock API client is built from.
+     */
+    @Bean
+    public ClientHttpConnector employeeApiConnector(
+            ConnectionProvider employeeApiConnectionProvider, EmployeeApiProperties properties) {
+        EmployeeApiProperties.Transport transport = properties.getTransport();
+        HttpClient httpClient = HttpClient.create(employeeApiConnectionProvider)
+                .protocol(
+                        transport.getProtocol() == EmployeeApiProperties.Transport.Protocol.H2C
+                                ? HttpProtocol.H2C
+                                : HttpProtocol.HTTP11)
+                .compress(transport.isCompression())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(transport.getConnectTimeout().toMillis()))
+                .option(ChannelOption.SO_KEEPALIVE, transport.isKeepAlive())
+                .responseTimeout(transport.getResponseTimeout());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
@@ -0,0 +1,240 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning knobs for how the API talks to the Mock Employee API, bound from {@code employee.api.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.api")
+public class EmployeeApiProperties {
+
+    private final Snapshot snapshot = new Snapshot();
+    private final Search search = new Search();
+    private final RateLimit rateLimit = new RateLimit();
+    private final Paging paging = new Paging();
+    private final Transport transport = new Transport();
+    private final Stream stream = new Stream();
+    private final Batching createBatching = new Batching();
+    private final Batching lookupBatching = new Batching();
+
+    /**
+     * How employees are deleted on the Mock API.
+     */
+    private DeleteMode deleteMode = DeleteMode.ID;
+
+    public enum DeleteMode {
+        /**
+         * One {@code DELETE /{id}}, answered with the deleted employee.
+         */
+        ID,
+        /**
+         * The name-based {@code DELETE}, with the name taken from the snapshot, or looked up first if it is not there.
+         */
+        NAME
+    }
+
+    @Data
+    public static class Snapshot {
+        /**
+         * Whether a scheduled task keeps the snapshot warm; when off, it is only reloaded once it expires.
+         */
+        private boolean backgroundRefresh = true;
+
+        /**
+         * How often the background task re-fetches the employee list.
+         */
+        private Duration refreshInterval = Duration.ofSeconds(30);
+
+        /**
+         * Oldest snapshot we are willing to serve, including while the Mock API is rate limiting or failing.
+         */
+        private Duration maxStaleness = Duration.ofMinutes(5);
+
+        /**
+         * Whether refreshes send the entity tag of the current snapshot in {@code If-None-Match}, so an unchanged list
+         * comes back as a bodiless 304 and the snapshot is kept instead of being downloaded and parsed again.
+         */
+        private boolean conditional = true;
+
+        /**
+         * Whether refreshes fetch only the creates and deletes since the snapshot's Mock API data set version and apply
+         * them to it, falling back to the whole list when the Mock API no longer has them.
+         */
+        private boolean changeFeed = true;
+    }
+
+    @Data
+    public static class RateLimit {
+        /**
+         * Whether calls to the Mock API are paced client-side instead of only reacting to its 429s.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Calls per window assumed until the first 429 has been observed.
+         */
+        private int initialQuota = 10;
+
+        /**
+         * Quiet window assumed until the first 429 has been observed.
+         */
+        private Duration initialWindow = Duration.ofSeconds(30);
+
+        /**
+         * Bounds for the learned quiet window.
+         */
+        private Duration minWindow = Duration.ofSeconds(1);
+
+        private Duration maxWindow = Duration.ofMinutes(2);
+
+        /**
+         * Calls allowed to wait for a token at once; further calls fail with a 429 straight away.
+         */
+        private int maxQueued = 100;
+    }
+
+    @Data
+    public static class Paging {
+        /**
+         * Whether the employee list is fetched page by page using the Mock API's cursors, instead of in one response.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Employees requested per page.
+         */
+        private int pageSize = 1000;
+
+        /**
+         * Most page ranges scanned at once; further capped by the rate limiter's learned quota.
+         */
+        private int parallelism = 4;
+    }
+
+    @Data
+    public static class Transport {
+        /**
+         * Protocol spoken to the Mock API; {@code H2C} multiplexes calls over fewer connections, and needs the Mock API
+         * to run with {@code server.http2.enabled}.
+         */
+        private Protocol protocol = Protocol.HTTP11;
+
+        /**
+         * Whether responses are requested gzip-compressed, which the Mock API does for larger ones.
+         */
+        private boolean compression = true;
+
+        /**
+         * Whether employee lists are requested in Smile, Jackson's binary JSON, which is smaller and faster to decode.
+         * The Mock API answers in JSON when it does not offer Smile.
+         */
+        private boolean smile = true;
+
+        /**
+         * Most connections open to the Mock API at once.
+         */
+        private int maxConnections = 50;
+
+        /**
+         * Most calls waiting for a connection at once; further calls fail straight away.
+         */
+        private int maxPendingAcquires = 500;
+
+        /**
+         * Longest a call waits for a connection.
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Idle connections are closed after this long, and any connection after {@code maxLifeTime}.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        private Duration maxLifeTime = Duration.ofMinutes(10);
+
+        /**
+         * How often idle and expired connections are closed in the background, rather than only when next acquired.
+         */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        /**
+         * Whether TCP keep-alive probes are sent on idle connections.
+         */
+        private boolean keepAlive = true;
+
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Longest wait for the next bytes of a response; must exceed the Mock API's change stream heartbeat.
+         */
+        private Duration responseTimeout = Duration.ofSeconds(30);
+
+        public enum Protocol {
+            HTTP11,
+            H2C
+        }
+    }
+
+    @Data
+    public static class Stream {
+        /**
+         * Whether the snapshot follows the Mock API's server-sent change stream, applying creates and deletes as they
+         * happen instead of waiting for the next refresh.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Wait before reconnecting after the stream drops, doubling on each failed attempt.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(1);
+
+        /**
+         * Longest wait between reconnect attempts.
+         */
+        private Duration maxReconnectDelay = Duration.ofMinutes(1);
+
+        /**
+         * Most pushed events applied to the snapshot in one update.
+         */
+        private int maxBatchSize = 500;
+
+        /**
+         * Longest a pushed event waits for its batch to fill before the batch is applied anyway.
+         */
+        private Duration maxBatchWait = Duration.ofMillis(50);
+    }
+
+    @Data
+    public static class Batching {
+        /**
+         * Whether concurrent calls are collected into batches sent as one request to the Mock API.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Most calls sent in one batch.
+         */
+        private int maxSize = 100;
+
+        /**
+         * Longest a call waits for its batch to fill before the batch is sent anyway.
+         */
+        private Duration maxWait = Duration.ofMillis(10);
+
+        /**
+         * Most batches sent at once; further batches wait.
+         */
+        private int parallelism = 2;
+    }
+
+    @Data
+    public static class Search {
+        /**
+         * Maximum number of employees a name search returns; 0 returns every match.
+         */
+        private int maxResults = 0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.api.controller;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+
+/**
+ * Maps failures of the asynchronous service calls behind {@link EmployeeController} to HTTP responses, so the
+ * controller itself only deals with the happy path.
+ */
+@ControllerAdvice(assignableTypes = EmployeeController.class)
+public class EmployeeControllerAdvice {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeControllerAdvice.class);
+
+    @ExceptionHandler(CompletionException.class)
+    protected ResponseEntity<ProblemDetail> handleCompletionException(CompletionException ex) {
+        return toResponse(ex);
+    }
+
+    @ExceptionHandler({WebClientResponseException.class, IllegalArgumentException.class, TimeoutException.class})
+    protected ResponseEntity<ProblemDetail> handleException(Exception ex) {
+        return toResponse(ex);
+    }
+
+    private ResponseEntity<ProblemDetail> toResponse(Throwable ex) {
+        Throwable cause = ex;
+        while ((cause instanceof CompletionException || Exceptions.isRetryExhausted(cause))
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        ProblemDetail problem = toProblem(cause);
+        if (problem.getStatus() >= 500) {
+            log.error("Employee request failed with {}", problem.getStatus(), cause);
+        } else {
+            log.warn("Employee request failed with {}: {}", problem.getStatus(), cause.getMessage());
+        }
+        return ResponseEntity.status(problem.getStatus()).body(problem);
+    }
+
+    private static ProblemDetail toProblem(Throwable cause) {
+        if (cause instanceof IllegalArgumentException iae) {
+            HttpStatus status = iae.getMessage() != null && iae.getMessage().contains("not found")
+                    ? HttpStatus.NOT_FOUND
+                    : HttpStatus.BAD_REQUEST;
+            return ProblemDetail.forStatusAndDetail(status, iae.getMessage());
+        }
+        if (cause instanceof TimeoutException) {
+            return ProblemDetail.forStatusAndDetail(
+                    HttpStatus.GATEWAY_TIMEOUT, "Timed out waiting for the employee service");
+        }
+        if (cause instanceof WebClientResponseException e) {
+            return toProblem(e.getStatusCode());
+        }
+        return ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error");
+    }
+
+    private static ProblemDetail toProblem(HttpStatusCode upstreamStatus) {
+        if (upstreamStatus == HttpStatus.NOT_FOUND) {
+            return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, "Employee not found");
+        }
+        if (upstreamStatus == HttpStatus.BAD_REQUEST) {
+            return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Invalid employee data provided");
+        }
+        if (upstreamStatus == HttpStatus.TOO_MANY_REQUESTS) {
+            return ProblemDetail.forStatusAndDetail(
+                    HttpStatus.TOO_MANY_REQUESTS, "Service is rate limited, please try again later");
+        }
+        if (upstreamStatus.is5xxServerError()) {
+            return ProblemDetail.forStatusAndDetail(
+                    HttpStatus.SERVICE_UNAVAILABLE, "Employee service is temporarily unavailable");
+        }
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_GATEWAY, "Unexpected response from employee service");
+    }
+}
@@ -0,0 +1,31 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One create or delete from the Mock API's change feed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChange {
+
+    /**
+     * Mock API data set version right after the change.
+     */
+    private long version;
+
+    private Type type;
+
+    /**
+     * The employee created, or the one deleted.
+     */
+    private Employee employee;
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -8,6 +8,7 @@ import com.reliaquest.api.utils.RegexUtil;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -17,8 +18,19 @@ public interface IEmployeeService {
 
     CompletableFuture<List<Employee>> findAllEmployeesByName(@NotBlank @Size(min = 1, max = 100) String name);
 
+    /**
+     * Same as {@link #findAllEmployeesByName(String)}, but stops after {@code limit} matches; 0 means no limit.
+     */
+    CompletableFuture<List<Employee>> findAllEmployeesByName(
+            @NotBlank @Size(min = 1, max = 100) String name, @PositiveOrZero int limit);
+
     CompletableFuture<Employee> findEmployeeById(@NotBlank @Pattern(regexp = RegexUtil.ALPHANUMERIC_HYPHEN_REGEX) String id);
 
+    /**
+     * Returns the employees with the given ids in the order asked for, leaving out the ones that do not exist.
+     */
+    CompletableFuture<List<Employee>> findEmployeesByIds(@NotNull List<String> ids);
+
     CompletableFuture<Integer> getHighestSalaryOfEmployees();
 
     CompletableFuture<List<String>> getTop10HighestEarningEmployeeNames();
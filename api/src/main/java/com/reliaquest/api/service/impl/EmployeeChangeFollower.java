@@ -0,0 +1,42 @@
+package com.reliaquest.api.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+/**
+ * Keeps the employee snapshot in step with the Mock API's change stream once the application is up. Enable with
+ * {@code employee.api.stream.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee.api.stream", name = "enabled", havingValue = "true")
+public class EmployeeChangeFollower {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeFollower.class);
+
+    private final EmployeeService employeeService;
+    private volatile Disposable subscription;
+
+    public EmployeeChangeFollower(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = employeeService
+                .followChanges()
+                .subscribe(null, error -> log.error("Stopped following employee changes", error));
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+}
@@ -1,82 +1,500 @@
 // api/src/main/java/com/reliaquest/api/service/impl/EmployeeServiceImpl.java
 package com.reliaquest.api.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeListing;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.config.EmployeeApiProperties;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.DeleteEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
 import com.reliaquest.api.service.IEmployeeService;
 import com.reliaquest.api.utils.ApiResponse;
+import com.reliaquest.api.utils.ApiResponseDataDecoder;
 import com.reliaquest.api.utils.ErrorUtil;
+import com.reliaquest.api.utils.MicroBatcher;
+import com.reliaquest.api.utils.SingleFlight;
+import com.reliaquest.api.utils.UpstreamMetrics;
+import com.reliaquest.api.utils.UpstreamRateLimiter;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 @Service
 @Validated
 public class EmployeeService implements IEmployeeService {
     private static final Logger log = LoggerFactory.getLogger(EmployeeService.class);
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String END_CURSOR_HEADER = "X-End-Cursor";
+    private static final String DATASET_VERSION_HEADER = "X-Dataset-Version";
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    private static final String RESET_EVENT = "reset";
+    private static final int MAX_IDS_PER_LOOKUP = 100;
+    private static final List<MediaType> SMILE_OR_JSON =
+            List.of(ApiResponseDataDecoder.SMILE, MediaType.APPLICATION_JSON);
+    private static final ParameterizedTypeReference<ServerSentEvent<EmployeeChange>> CHANGE_EVENTS =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<List<Employee>>> EMPLOYEES =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<List<String>>> BULK_ERRORS =
+            new ParameterizedTypeReference<>() {};
 
     private final WebClient client;
+    private final UpstreamRateLimiter rateLimiter;
+    private final UpstreamMetrics metrics;
+    private final ApiResponseDataDecoder<Employee> employeeListDecoder;
+    private final ApiResponseDataDecoder<EmployeeChange> changeListDecoder;
+    private final EmployeeApiProperties.Paging paging;
+    private final boolean conditional;
+    private final boolean smile;
+    private final boolean changeFeed;
+    private final EmployeeApiProperties.Stream changeStream;
+    private final EmployeeSnapshotCache snapshotCache;
+    private final SingleFlight<String, Employee> employeeByIdCalls = new SingleFlight<>();
+    private final MicroBatcher<CreateEmployeeRequest, Employee> createBatcher;
+    private final MicroBatcher<String, Employee> lookupBatcher;
+    private final int lookupParallelism;
+    private final EmployeeApiProperties.DeleteMode deleteMode;
+    private final int searchMaxResults;
 
     public EmployeeService(@NonNull WebClient.Builder builder) {
+        this(builder, new EmployeeApiProperties(), Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    public EmployeeService(
+            @NonNull WebClient.Builder builder,
+            @NonNull EmployeeApiProperties properties,
+            @NonNull ObjectMapper objectMapper) {
+        this(builder, properties, objectMapper, new UpstreamMetrics());
+    }
+
+    @Autowired
+    public EmployeeService(
+            @NonNull WebClient.Builder builder,
+            @NonNull EmployeeApiProperties properties,
+            @NonNull ObjectMapper objectMapper,
+            @NonNull UpstreamMetrics metrics) {
+        this.metrics = metrics;
+        this.rateLimiter = properties.getRateLimit().isEnabled()
+                ? new UpstreamRateLimiter(properties.getRateLimit())
+                : null;
+        if (rateLimiter != null) {
+            builder.filter(rateLimiter);
+        }
         this.client = builder.baseUrl("http://localhost:8112/api/v1/employee").build();
+        this.employeeListDecoder = new ApiResponseDataDecoder<>(objectMapper, Employee.class);
+        this.changeListDecoder = new ApiResponseDataDecoder<>(objectMapper, EmployeeChange.class);
+        this.paging = properties.getPaging();
+        this.conditional = properties.getSnapshot().isConditional();
+        this.smile = properties.getTransport().isSmile();
+        this.changeFeed = properties.getSnapshot().isChangeFeed();
+        this.changeStream = properties.getStream();
+        this.snapshotCache = new EmployeeSnapshotCache(
+                this::fetchEmployees, properties.getSnapshot().getMaxStaleness());
+        this.searchMaxResults = properties.getSearch().getMaxResults();
+        EmployeeApiProperties.Batching createBatching = properties.getCreateBatching();
+        this.createBatcher = createBatching.isEnabled()
+                ? new MicroBatcher<>(
+                        createBatching.getMaxSize(),
+                        createBatching.getMaxWait(),
+                        createBatching.getParallelism(),
+                        this::createEmployees)
+                : null;
+        EmployeeApiProperties.Batching lookupBatching = properties.getLookupBatching();
+        this.lookupBatcher = lookupBatching.isEnabled()
+                ? new MicroBatcher<>(
+                        Math.min(lookupBatching.getMaxSize(), MAX_IDS_PER_LOOKUP),
+                        lookupBatching.getMaxWait(),
+                        lookupBatching.getParallelism(),
+                        this::lookupEmployees)
+                : null;
+        this.lookupParallelism = lookupBatching.getParallelism();
+        this.deleteMode = properties.getDeleteMode();
+        metrics.registerCoalescing("list", snapshotCache.getRefreshCalls());
+        metrics.registerCoalescing("get", employeeByIdCalls);
+        if (createBatcher != null) {
+            metrics.registerBatching("create", createBatcher);
+        }
+        if (lookupBatcher != null) {
+            metrics.registerBatching("get", lookupBatcher);
+        }
+        if (rateLimiter != null) {
+            metrics.registerRateLimiter(rateLimiter);
+        }
     }
 
     @Override
     @NonNull public CompletableFuture<List<Employee>> findAllEmployees() {
-        log.info("Fetching all employees from Mock API");
-        var type = new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {};
+        return snapshotCache.get().<List<Employee>>map(EmployeeSnapshot::employees).toFuture();
+    }
+
+    /**
+     * Re-fetches the employee list from the Mock API and publishes it as a new snapshot. Called on a schedule by
+     * {@link EmployeeSnapshotRefresher}; a rate-limited or failing Mock API keeps the previous snapshot in place.
+     */
+    public CompletableFuture<EmployeeSnapshot> refreshSnapshot() {
+        return snapshotCache.refresh().toFuture();
+    }
+
+    /**
+     * Follows the Mock API's change stream, applying creates and deletes to the snapshot in small batches as they are
+     * pushed and emitting the updated snapshot. Every connect resumes after the Mock API version the snapshot is at,
+     * so nothing is missed across disconnects; when the Mock API can no longer replay that far it says so, and the
+     * snapshot is refreshed instead. Heartbeats confirm the snapshot is current. Reconnects with backoff until
+     * cancelled.
+     */
+    public Flux<EmployeeSnapshot> followChanges() {
+        return Flux.defer(() -> snapshotCache.get().flatMapMany(this::streamChangesAfter))
+                .repeatWhen(completions -> completions.delayElements(changeStream.getReconnectDelay()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, changeStream.getReconnectDelay())
+                        .maxBackoff(changeStream.getMaxReconnectDelay())
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn(
+                                "Employee change stream failed, reconnecting: {}",
+                                signal.failure().getMessage())));
+    }
 
+    private Flux<EmployeeSnapshot> streamChangesAfter(EmployeeSnapshot snapshot) {
+        if (snapshot.upstreamVersion() == null) {
+            return Flux.error(new IllegalStateException("Mock API does not report a data set version to resume from"));
+        }
+        log.info("Following employee changes after Mock API version {}", snapshot.upstreamVersion());
         return client.get()
+                .uri("/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header(LAST_EVENT_ID_HEADER, String.valueOf(snapshot.upstreamVersion()))
                 .retrieve()
                 .onStatus(
                         status -> status == HttpStatus.TOO_MANY_REQUESTS,
-                        ErrorUtil.handleRateLimit("Rate limited by Mock API while fetching all employees"))
-                .bodyToMono(type)
-                .retryWhen(ErrorUtil.rateLimitRetry())
-                .map(response -> {
-                    if (response == null || response.getData() == null) {
-                        return new ArrayList<Employee>();
-                    }
-                    List<Employee> employees = response.getData();
-                    // Memory safety: Limit collection size to prevent OOM attacks
-                    if (employees.size() > 10000) {
-                        log.warn("Employee list size {} exceeds safety limit, truncating to 10000", employees.size());
-                        return employees.subList(0, 10000);
+                        ErrorUtil.handleRateLimit("Rate limited by Mock API while following employee changes", metrics))
+                .bodyToFlux(CHANGE_EVENTS)
+                .bufferTimeout(changeStream.getMaxBatchSize(), changeStream.getMaxBatchWait(), true)
+                .concatMap(this::applyEvents);
+    }
+
+    /**
+     * Applies a batch of pushed events to the snapshot in one step, so a burst of changes costs one snapshot update
+     * rather than one per change. Applying changes counts as hearing from the Mock API; a batch of heartbeats only
+     * confirms the snapshot is current, and a reset refreshes it instead.
+     */
+    private Mono<EmployeeSnapshot> applyEvents(List<ServerSentEvent<EmployeeChange>> events) {
+        if (events.stream().anyMatch(event -> RESET_EVENT.equals(event.event()))) {
+            return snapshotCache.refresh();
+        }
+        List<EmployeeChange> changes = events.stream().map(ServerSentEvent::data).filter(Objects::nonNull).toList();
+        if (changes.isEmpty()) {
+            // Only heartbeats: everything before them has been sent
+            return Mono.justOrEmpty(snapshotCache.revalidate());
+        }
+        long upstreamVersion = changes.get(changes.size() - 1).getVersion();
+        return Mono.justOrEmpty(snapshotCache.applyChanges(changes, upstreamVersion));
+    }
+
+    /**
+     * Asks the Mock API for what has changed since {@code previous}: the creates and deletes after its data set
+     * version when known, or else the whole list. A change log that no longer reaches back that far falls back to
+     * the whole list.
+     */
+    private Mono<EmployeeListing> fetchEmployees(EmployeeSnapshot previous) {
+        if (!changeFeed || previous == null || previous.upstreamVersion() == null) {
+            return fetchAllEmployees(previous == null ? null : previous.etag());
+        }
+        return fetchChanges(previous.upstreamVersion())
+                .onErrorResume(
+                        ex -> ex instanceof WebClientResponseException.Gone
+                                || ex instanceof WebClientResponseException.NotFound,
+                        ex -> {
+                            log.info(
+                                    "Mock API has no changes since version {}, reloading all employees",
+                                    previous.upstreamVersion());
+                            return fetchAllEmployees(previous.etag());
+                        });
+    }
+
+    private Mono<EmployeeListing> fetchChanges(long since) {
+        log.debug("Fetching employee changes since version {} from Mock API", since);
+        return client.get()
+                .uri(uri -> uri.path("/changes").queryParam("since", since).build())
+                .headers(this::acceptListFormats)
+                .retrieve()
+                .onStatus(
+                        status -> status == HttpStatus.TOO_MANY_REQUESTS,
+                        ErrorUtil.handleRateLimit("Rate limited by Mock API while fetching employee changes", metrics))
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(entity -> changeListDecoder
+                        .decode(entity.getBody(), entity.getHeaders().getContentType())
+                        .collectList()
+                        .map(changes -> EmployeeListing.changes(
+                                Optional.ofNullable(longHeader(entity.getHeaders(), DATASET_VERSION_HEADER))
+                                        .orElse(since),
+                                changes)))
+                .retryWhen(ErrorUtil.rateLimitRetry(metrics))
+                .transform(metrics.timed("changes"));
+    }
+
+    /**
+     * Streams the employee list from the Mock API, emitting each employee as soon as it has been decoded. Given the
+     * entity tag of the list we already hold, asks for it only if it has changed since.
+     */
+    private Mono<EmployeeListing> fetchAllEmployees(String etag) {
+        log.info("Fetching all employees from Mock API");
+        if (paging.isEnabled()) {
+            return fetchAllEmployeesPaged();
+        }
+
+        return client.get()
+                .headers(headers -> {
+                    acceptListFormats(headers);
+                    if (conditional && etag != null) {
+                        headers.setIfNoneMatch(etag);
                     }
-                    return employees;
                 })
-                .toFuture();
+                .retrieve()
+                .onStatus(
+                        status -> status == HttpStatus.TOO_MANY_REQUESTS,
+                        ErrorUtil.handleRateLimit("Rate limited by Mock API while fetching all employees", metrics))
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(entity -> entity.getStatusCode() == HttpStatus.NOT_MODIFIED
+                        ? entity.getBody().then(Mono.just(EmployeeListing.notModified()))
+                        : Mono.just(EmployeeListing.of(
+                                entity.getHeaders().getETag(),
+                                longHeader(entity.getHeaders(), DATASET_VERSION_HEADER),
+                                employeeListDecoder.decode(
+                                        entity.getBody(), entity.getHeaders().getContentType()))))
+                .retryWhen(ErrorUtil.rateLimitRetry(metrics))
+                .transform(timedUntilDecoded("list"));
+    }
+
+    /**
+     * Times a whole-list fetch like {@link UpstreamMetrics#timed(String)}, but until its streamed body has been
+     * decoded into the snapshot rather than until the response headers are in. An unchanged list stops at once.
+     */
+    private Function<Mono<EmployeeListing>, Mono<EmployeeListing>> timedUntilDecoded(String operation) {
+        return call -> Mono.defer(() -> {
+            UpstreamMetrics.Sample sample = metrics.start(operation);
+            return call.doOnError(error -> sample.stop("error")).map(listing -> {
+                if (listing.employees() == null) {
+                    sample.stop("success");
+                    return listing;
+                }
+                return EmployeeListing.of(
+                        listing.etag(),
+                        listing.upstreamVersion(),
+                        listing.employees()
+                                .doOnComplete(() -> sample.stop("success"))
+                                .doOnError(error -> sample.stop("error")));
+            });
+        });
+    }
+
+    /**
+     * Fetches the employee list page by page. The first page tells us how far the cursors currently go; the rest
+     * of that range is split into segments paged in parallel and merged back in order, and a final scan from the
+     * end picks up employees created meanwhile. Parallelism is capped by the rate limiter's learned quota, since
+     * more concurrent segments than that would only queue behind it. The data set version of the first page is
+     * the one the whole list is synchronised with; later pages may only be newer.
+     */
+    private Mono<EmployeeListing> fetchAllEmployeesPaged() {
+        return fetchPage(0, null).map(first -> EmployeeListing.of(null, first.datasetVersion(), allPages(first)));
+    }
+
+    private Flux<Employee> allPages(EmployeePage first) {
+        Flux<Employee> firstPage = Flux.fromIterable(first.employees());
+        if (first.nextCursor() == null) {
+            return firstPage;
+        }
+
+        long from = first.nextCursor();
+        long to = Math.max(from, first.endCursor());
+        int parallelism = rateLimiter == null
+                ? paging.getParallelism()
+                : Math.min(paging.getParallelism(), rateLimiter.getQuota());
+        int segments = (int) Math.max(1, Math.min(parallelism, ceilDiv(to - from, paging.getPageSize())));
+        long width = ceilDiv(to - from, segments);
+        log.debug("Paging employees [{}, {}) in {} segments", from, to, segments);
+
+        Flux<Employee> range = Flux.range(0, segments)
+                .map(segment -> from + segment * width)
+                .filter(start -> start < to)
+                .flatMapSequential(start -> fetchSegment(start, Math.min(start + width, to)), segments);
+        return firstPage.concatWith(range).concatWith(Flux.defer(() -> fetchSegment(to, null)));
+    }
+
+    private Flux<Employee> fetchSegment(long cursor, Long end) {
+        return fetchPage(cursor, end)
+                .expand(page -> page.nextCursor() == null ? Mono.empty() : fetchPage(page.nextCursor(), end))
+                .concatMapIterable(EmployeePage::employees);
+    }
+
+    private Mono<EmployeePage> fetchPage(long cursor, Long end) {
+        return client.get()
+                .uri(uri -> uri.queryParam("cursor", cursor)
+                        .queryParamIfPresent("end", Optional.ofNullable(end))
+                        .queryParam("limit", paging.getPageSize())
+                        .build())
+                .headers(this::acceptListFormats)
+                .retrieve()
+                .onStatus(
+                        status -> status == HttpStatus.TOO_MANY_REQUESTS,
+                        ErrorUtil.handleRateLimit(
+                                "Rate limited by Mock API while fetching employees from " + cursor, metrics))
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(entity -> employeeListDecoder
+                        .decode(entity.getBody(), entity.getHeaders().getContentType())
+                        .collectList()
+                        .map(employees -> new EmployeePage(
+                                employees,
+                                longHeader(entity.getHeaders(), NEXT_CURSOR_HEADER),
+                                Optional.ofNullable(longHeader(entity.getHeaders(), END_CURSOR_HEADER))
+                                        .orElse(cursor),
+                                longHeader(entity.getHeaders(), DATASET_VERSION_HEADER))))
+                .retryWhen(ErrorUtil.rateLimitRetry(metrics))
+                .transform(metrics.timed("page"));
+    }
+
+    /**
+     * Asks for a list in Smile when enabled. JSON stays acceptable, for a Mock API that does not offer Smile.
+     */
+    private void acceptListFormats(HttpHeaders headers) {
+        if (smile) {
+            headers.setAccept(SMILE_OR_JSON);
+        }
+    }
+
+    private static Long longHeader(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
     }
 
     @Override
     public CompletableFuture<List<Employee>> findAllEmployeesByName(
             @NotBlank @Size(min = 1, max = 100) String nameString) {
+        return findAllEmployeesByName(nameString, searchMaxResults);
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> findAllEmployeesByName(
+            @NotBlank @Size(min = 1, max = 100) String nameString, @PositiveOrZero int limit) {
         log.info("Fetching employees with the name : {}", nameString);
 
-        return findAllEmployees().thenApply(allEmployees -> allEmployees.stream()
-                .filter(employee -> employee.getName() != null
-                        && employee.getName().toLowerCase().contains(nameString.toLowerCase()))
-                .toList());
+        return snapshotCache
+                .get()
+                .map(snapshot -> snapshot.employees().search(nameString, limit))
+                .toFuture();
     }
 
     @Override
     public CompletableFuture<Employee> findEmployeeById(@NotBlank @Pattern(regexp = "^[a-zA-Z0-9-]+$") String id) {
         log.info("Fetching employee with ID: {}", id);
+        return employeeByIdCalls.execute(
+                id, () -> lookupBatcher != null ? lookupBatcher.submit(id) : fetchEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> findEmployeesByIds(@NotNull List<String> ids) {
+        log.info("Fetching {} employees by ID", ids.size());
+        List<UUID> uuids = ids.stream()
+                .map(id -> parseId(id).orElseThrow(() -> new IllegalArgumentException("Invalid employee ID: " + id)))
+                .distinct()
+                .toList();
+
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < uuids.size(); from += MAX_IDS_PER_LOOKUP) {
+            chunks.add(uuids.subList(from, Math.min(uuids.size(), from + MAX_IDS_PER_LOOKUP)));
+        }
+        return Flux.fromIterable(chunks)
+                .flatMapSequential(this::fetchEmployeesByIds, lookupParallelism)
+                .concatMapIterable(employees -> employees)
+                .collectList()
+                .toFuture();
+    }
+
+    /**
+     * Looks up a batch of single-id lookups with one multi-get. Ids that are not UUIDs, or that the Mock API does not
+     * know, fail on their own.
+     */
+    private Mono<List<MicroBatcher.Outcome<Employee>>> lookupEmployees(List<String> ids) {
+        List<UUID> uuids = ids.stream().map(EmployeeService::parseId).flatMap(Optional::stream).toList();
+        Mono<List<Employee>> found = uuids.isEmpty() ? Mono.just(List.of()) : fetchEmployeesByIds(uuids);
+        return found.map(employees -> {
+            Map<UUID, Employee> byId = new HashMap<>();
+            employees.forEach(employee -> byId.put(UUID.fromString(employee.getId()), employee));
+            return ids.stream()
+                    .map(id -> parseId(id)
+                            .map(uuid -> byId.containsKey(uuid)
+                                    ? MicroBatcher.Outcome.success(byId.get(uuid))
+                                    : MicroBatcher.Outcome.<Employee>failure(new IllegalArgumentException(
+                                            "Employee with ID " + id + " not found")))
+                            .orElseGet(() -> MicroBatcher.Outcome.failure(
+                                    new IllegalArgumentException("Invalid employee ID: " + id))))
+                    .toList();
+        });
+    }
+
+    private Mono<List<Employee>> fetchEmployeesByIds(List<UUID> ids) {
+        log.debug("Fetching {} employees by ID from Mock API", ids.size());
+        String joined = ids.stream().map(UUID::toString).collect(Collectors.joining(","));
+
+        return client.get()
+                .uri(uri -> uri.queryParam("ids", joined).build())
+                .retrieve()
+                .onStatus(
+                        status -> status == HttpStatus.TOO_MANY_REQUESTS,
+                        ErrorUtil.handleRateLimit(
+                                "Rate limited during lookup of " + ids.size() + " employees", metrics))
+                .bodyToMono(EMPLOYEES)
+                .retryWhen(ErrorUtil.rateLimitRetry(metrics))
+                .transform(metrics.timed("lookup"))
+                .map(response -> response.getData() != null ? response.getData() : List.<Employee>of());
+    }
+
+    private static Optional<UUID> parseId(String id) {
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private CompletableFuture<Employee> fetchEmployeeById(String id) {
         var type = new ParameterizedTypeReference<ApiResponse<Employee>>() {};
 
         return client.get()
@@ -87,9 +505,10 @@ public class EmployeeService implements IEmployeeService {
                         ErrorUtil.handleNotFound("Employee with ID " + id + " not found"))
                 .onStatus(
                         status -> status == HttpStatus.TOO_MANY_REQUESTS,
-                        ErrorUtil.handleRateLimit("Rate limited during employee lookup for ID: " + id))
+                        ErrorUtil.handleRateLimit("Rate limited during employee lookup for ID: " + id, metrics))
                 .bodyToMono(type)
-                .retryWhen(ErrorUtil.rateLimitRetry())
+                .retryWhen(ErrorUtil.rateLimitRetry(metrics))
+                .transform(metrics.timed("get"))
                 .map(response -> response != null ? response.getData() : null)
                 .toFuture();
     }
@@ -98,26 +517,30 @@ public class EmployeeService implements IEmployeeService {
     public CompletableFuture<Integer> getHighestSalaryOfEmployees() {
         log.info("Fetching highest salary of employees");
 
-        return findAllEmployees().thenApply(allEmployees -> allEmployees.stream()
-                .mapToInt(Employee::getSalary)
-                .max()
-                .orElseThrow(() -> new IllegalStateException("No employees found")));
+        return snapshotCache
+                .get()
+                .map(snapshot -> snapshot.salarySummary()
+                        .max()
+                        .orElseThrow(() -> new IllegalStateException("No employees found")))
+                .toFuture();
     }
 
     @Override
     public CompletableFuture<List<String>> getTop10HighestEarningEmployeeNames() {
         log.info("Fetching top 10 highest earning employee names");
 
-        return findAllEmployees().thenApply(allEmployees -> allEmployees.stream()
-                .sorted((e1, e2) -> Integer.compare(e2.getSalary(), e1.getSalary())) // Sort descending by salary
-                .limit(10)
-                .map(Employee::getName)
-                .toList());
+        return snapshotCache
+                .get()
+                .map(snapshot -> snapshot.salarySummary().topEarnerNames())
+                .toFuture();
     }
 
     @Override
     public CompletableFuture<Employee> createEmployee(@NotNull CreateEmployeeRequest employeeInput) {
         log.info("Creating new employee: {}", employeeInput);
+        if (createBatcher != null) {
+            return createBatcher.submit(employeeInput);
+        }
 
         Employee employee = Employee.builder()
                 .name(employeeInput.getName())
@@ -138,13 +561,84 @@ public class EmployeeService implements IEmployeeService {
                         ErrorUtil.handleError("Internal server error while creating employee"))
                 .onStatus(
                         status -> status == HttpStatus.TOO_MANY_REQUESTS,
-                        ErrorUtil.handleRateLimit("Rate limited during employee creation"))
+                        ErrorUtil.handleRateLimit("Rate limited during employee creation", metrics))
                 .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {})
-                .retryWhen(ErrorUtil.rateLimitRetry())
+                .retryWhen(ErrorUtil.rateLimitRetry(metrics))
+                .transform(metrics.timed("create"))
                 .map(response -> response != null ? response.getData() : null)
+                .doOnNext(snapshotCache::applyCreated)
                 .toFuture();
     }
 
+    /**
+     * Creates a batch of employees with one call to the Mock API's bulk endpoint. The Mock API creates none of them
+     * if any is invalid; those fail on their own and the rest are sent again without them.
+     */
+    private Mono<List<MicroBatcher.Outcome<Employee>>> createEmployees(List<CreateEmployeeRequest> requests) {
+        log.debug("Creating {} employees in one request", requests.size());
+
+        return client.post()
+                .uri("/bulk")
+                .bodyValue(requests)
+                .retrieve()
+                .onStatus(
+                        status -> status == HttpStatus.BAD_REQUEST,
+                        response -> response.createException().map(ex -> {
+                            ApiResponse<List<String>> body = ex.getResponseBodyAs(BULK_ERRORS);
+                            return body != null && body.getData() != null && body.getData().size() == requests.size()
+                                    ? new InvalidEmployeesException(body.getData(), ex)
+                                    : ex;
+                        }))
+                .onStatus(
+                        status -> status == HttpStatus.INTERNAL_SERVER_ERROR,
+                        ErrorUtil.handleError("Internal server error while creating employees"))
+                .onStatus(
+                        status -> status == HttpStatus.TOO_MANY_REQUESTS,
+                        ErrorUtil.handleRateLimit("Rate limited during bulk employee creation", metrics))
+                .bodyToMono(EMPLOYEES)
+                .retryWhen(ErrorUtil.rateLimitRetry(metrics))
+                .transform(metrics.timed("bulk-create"))
+                .map(response -> {
+                    List<Employee> created = response.getData() != null ? response.getData() : List.of();
+                    created.forEach(snapshotCache::applyCreated);
+                    return created.stream().map(MicroBatcher.Outcome::success).toList();
+                })
+                .onErrorResume(InvalidEmployeesException.class, ex -> createValidEmployees(requests, ex.errors));
+    }
+
+    private Mono<List<MicroBatcher.Outcome<Employee>>> createValidEmployees(
+            List<CreateEmployeeRequest> requests, List<String> errors) {
+        List<CreateEmployeeRequest> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (errors.get(i) == null) {
+                valid.add(requests.get(i));
+            } else {
+                log.warn("Mock API rejected employee {}: {}", requests.get(i), errors.get(i));
+            }
+        }
+        if (valid.size() == requests.size()) {
+            return Mono.error(new IllegalStateException("Mock API rejected the batch without naming an employee"));
+        }
+
+        // The invalid ones keep their own error even if the rest fail again
+        Mono<List<MicroBatcher.Outcome<Employee>>> created = valid.isEmpty()
+                ? Mono.just(List.of())
+                : createEmployees(valid).onErrorResume(error -> Mono.just(valid.stream()
+                        .map(request -> MicroBatcher.Outcome.<Employee>failure(error))
+                        .toList()));
+        return created.map(outcomes -> {
+            List<MicroBatcher.Outcome<Employee>> merged = new ArrayList<>(requests.size());
+            Iterator<MicroBatcher.Outcome<Employee>> next = outcomes.iterator();
+            for (String error : errors) {
+                merged.add(error == null
+                        ? next.next()
+                        : MicroBatcher.Outcome.failure(
+                                new IllegalArgumentException("Failed to create employee: " + error)));
+            }
+            return merged;
+        });
+    }
+
     @Override
     public CompletableFuture<String> deleteEmployee(@NotNull DeleteEmployeeRequest deleteRequest) {
         log.info("Deleting employee: {}", deleteRequest);
@@ -152,57 +646,85 @@ public class EmployeeService implements IEmployeeService {
             throw new IllegalArgumentException("Delete request and employee Id must not be null");
         }
 
-        // Race condition mitigation: Get employee info and attempt delete in single operation
-        // If employee doesn't exist, handle gracefully instead of pre-checking
-        return findEmployeeById(deleteRequest.getId())
-                .thenCompose(employee -> {
-                    if (employee == null) {
-                        throw new IllegalArgumentException("Employee with ID " + deleteRequest.getId() + " not found");
-                    }
+        String id = deleteRequest.getId();
+        Mono<String> deleted = deleteMode == EmployeeApiProperties.DeleteMode.ID ? deleteById(id) : deleteByName(id);
+        return deleted.doOnNext(name -> snapshotCache.applyDeleted(id)).toFuture();
+    }
 
-                    // Store employee name before deletion attempt
-                    String employeeName = employee.getName();
-
-                    return client.method(org.springframework.http.HttpMethod.DELETE)
-                            .uri("/{name}", employeeName)
-                            .bodyValue(Map.of("name", employeeName))
-                            .retrieve()
-                            .onStatus(status -> status == HttpStatus.NOT_FOUND, clientResponse -> {
-                                // Employee was deleted between our GET and DELETE calls
-                                // Return the name anyway since deletion was the intent
-                                log.warn("Employee {} was deleted by another request during deletion", employeeName);
-                                return clientResponse
-                                        .createException()
-                                        .flatMap(ex -> Mono.error(new IllegalArgumentException(
-                                                "Employee with ID " + deleteRequest.getId() + " was already deleted")));
-                            })
-                            .onStatus(
-                                    status -> status == HttpStatus.BAD_REQUEST,
-                                    ErrorUtil.handleBadRequest(
-                                            "Invalid delete request for employee with ID " + deleteRequest.getId()))
-                            .onStatus(
-                                    status -> status == HttpStatus.INTERNAL_SERVER_ERROR,
-                                    ErrorUtil.handleError("Internal server error while deleting employee with ID "
-                                            + deleteRequest.getId()))
-                            .onStatus(
-                                    status -> status == HttpStatus.TOO_MANY_REQUESTS,
-                                    ErrorUtil.handleRateLimit("Rate limited during employee deletion: " + employeeName))
-                            .bodyToMono(new ParameterizedTypeReference<ApiResponse<Boolean>>() {})
-                            .retryWhen(ErrorUtil.rateLimitRetry())
-                            .map(response -> employeeName)
-                            .onErrorReturn(
-                                    IllegalArgumentException.class, employeeName) // Return name even if already deleted
-                            .toFuture();
-                })
-                .exceptionally(throwable -> {
-                    // Handle race condition where employee is deleted between GET and DELETE
-                    if (throwable.getCause() instanceof IllegalArgumentException
-                            && throwable.getMessage().contains("already deleted")) {
-                        // Extract employee name from the error and return it
-                        log.info("Handling race condition: employee was already deleted");
-                        throw new IllegalArgumentException("Employee with ID " + deleteRequest.getId() + " not found");
-                    }
-                    throw new RuntimeException(throwable);
-                });
+    /**
+     * Deletes an employee with a single call to the Mock API, which answers with the deleted employee.
+     */
+    private Mono<String> deleteById(String id) {
+        return client.delete()
+                .uri("/{id}", id)
+                .retrieve()
+                .onStatus(
+                        status -> status == HttpStatus.NOT_FOUND,
+                        ErrorUtil.handleNotFound("Employee with ID " + id + " not found"))
+                .onStatus(
+                        status -> status == HttpStatus.BAD_REQUEST,
+                        ErrorUtil.handleBadRequest("Invalid delete request for employee with ID " + id))
+                .onStatus(
+                        status -> status == HttpStatus.INTERNAL_SERVER_ERROR,
+                        ErrorUtil.handleError("Internal server error while deleting employee with ID " + id))
+                .onStatus(
+                        status -> status == HttpStatus.TOO_MANY_REQUESTS,
+                        ErrorUtil.handleRateLimit("Rate limited during deletion of employee with ID " + id, metrics))
+                .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {})
+                .retryWhen(ErrorUtil.rateLimitRetry(metrics))
+                .transform(metrics.timed("delete"))
+                // A 200 without the deleted employee means nothing was deleted, same as a 404
+                .mapNotNull(response -> response.getData() != null ? response.getData().getName() : null)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Employee with ID " + id + " not found")));
+    }
+
+    /**
+     * Deletes an employee through the Mock API's name-based delete. The name comes from the snapshot when it has the
+     * employee, so that is a single call too; otherwise the employee is looked up first.
+     */
+    private Mono<String> deleteByName(String id) {
+        return resolveName(id).flatMap(employeeName -> client.method(HttpMethod.DELETE)
+                .bodyValue(Map.of("name", employeeName))
+                .retrieve()
+                .onStatus(
+                        status -> status == HttpStatus.BAD_REQUEST,
+                        ErrorUtil.handleBadRequest("Invalid delete request for employee with ID " + id))
+                .onStatus(
+                        status -> status == HttpStatus.INTERNAL_SERVER_ERROR,
+                        ErrorUtil.handleError("Internal server error while deleting employee with ID " + id))
+                .onStatus(
+                        status -> status == HttpStatus.TOO_MANY_REQUESTS,
+                        ErrorUtil.handleRateLimit("Rate limited during employee deletion: " + employeeName, metrics))
+                .bodyToMono(new ParameterizedTypeReference<ApiResponse<Boolean>>() {})
+                .retryWhen(ErrorUtil.rateLimitRetry(metrics))
+                .transform(metrics.timed("delete-by-name"))
+                .flatMap(response -> Boolean.TRUE.equals(response.getData())
+                        ? Mono.just(employeeName)
+                        // Deleted by someone else since the snapshot or the lookup saw it
+                        : Mono.error(new IllegalArgumentException("Employee with ID " + id + " not found"))));
     }
+
+    private Mono<String> resolveName(String id) {
+        Optional<Employee> cached = snapshotCache.peek().flatMap(snapshot -> snapshot.employees().findById(id));
+        if (cached.isPresent()) {
+            return Mono.just(cached.get().getName());
+        }
+        return Mono.fromFuture(() -> findEmployeeById(id), true)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Employee with ID " + id + " not found")))
+                .map(Employee::getName);
+    }
+
+    /**
+     * The Mock API rejected a bulk create, with what is wrong with each employee by position.
+     */
+    private static final class InvalidEmployeesException extends RuntimeException {
+        private final transient List<String> errors;
+
+        InvalidEmployeesException(List<String> errors, Throwable cause) {
+            super("Mock API rejected some employees in a bulk create", cause);
+            this.errors = errors;
+        }
+    }
+
+    private record EmployeePage(List<Employee> employees, Long nextCursor, long endCursor, Long datasetVersion) {}
 }
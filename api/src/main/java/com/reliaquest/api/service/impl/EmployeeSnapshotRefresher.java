@@ -0,0 +1,38 @@
+package com.reliaquest.api.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the employee snapshot warm so reads never wait on the Mock API. Disable with
+ * {@code employee.api.snapshot.background-refresh=false}.
+ */
+@Component
+@ConditionalOnProperty(
+        prefix = "employee.api.snapshot",
+        name = "background-refresh",
+        havingValue = "true",
+        matchIfMissing = true)
+public class EmployeeSnapshotRefresher {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSnapshotRefresher.class);
+
+    private final EmployeeService employeeService;
+
+    public EmployeeSnapshotRefresher(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @Scheduled(
+            initialDelayString = "${employee.api.snapshot.refresh-interval:PT30S}",
+            fixedDelayString = "${employee.api.snapshot.refresh-interval:PT30S}")
+    public void refresh() {
+        try {
+            employeeService.refreshSnapshot().join();
+        } catch (RuntimeException e) {
+            log.warn("Background refresh of employee snapshot failed: {}", e.getMessage());
+        }
+    }
+}
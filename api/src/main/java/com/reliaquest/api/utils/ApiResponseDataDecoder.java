@@ -0,0 +1,165 @@
+package com.reliaquest.api.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streams the elements of an {@link ApiResponse}'s {@code data} array out of a response body as it downloads.
+ * <p>
+ * Decoding {@code ApiResponse<List<T>>} in one go needs the whole body in memory, then the whole list, before the
+ * first element can be looked at. This decoder feeds each network buffer into Jackson's non-blocking parser and
+ * emits every element of the top-level {@code data} array as soon as its closing brace has arrived, so only one
+ * buffer and one element are held at a time. Everything outside {@code data} is skipped.
+ * <p>
+ * Bodies in {@value #SMILE_VALUE}, Jackson's binary JSON, are decoded the same way with its non-blocking parser;
+ * anything else is read as JSON.
+ */
+public class ApiResponseDataDecoder<T> {
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType SMILE = MediaType.parseMediaType(SMILE_VALUE);
+
+    private static final String DATA_FIELD = "data";
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+
+    private final ObjectMapper mapper;
+    private final ObjectReader reader;
+
+    public ApiResponseDataDecoder(ObjectMapper mapper, Class<T> elementType) {
+        this.mapper = mapper;
+        this.reader = mapper.readerFor(elementType);
+    }
+
+    public Flux<T> decode(Flux<DataBuffer> body) {
+        return decode(body, null);
+    }
+
+    /**
+     * Decodes a body of the given content type, as JSON if it is {@code null}.
+     */
+    public Flux<T> decode(Flux<DataBuffer> body, MediaType contentType) {
+        JsonFactory factory =
+                contentType != null && SMILE.isCompatibleWith(contentType) ? SMILE_FACTORY : mapper.getFactory();
+        return Flux.defer(() -> {
+            Tokenizer tokenizer = new Tokenizer(factory);
+            return body.concatMapIterable(tokenizer::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.endOfInput())))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    /**
+     * Parser state for one response body.
+     */
+    private class Tokenizer {
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private int depth;
+        private boolean dataFieldNext;
+        private boolean inData;
+        private TokenBuffer element;
+        private int elementDepth;
+
+        Tokenizer(JsonFactory factory) {
+            try {
+                this.parser = factory.createNonBlockingByteArrayParser();
+            } catch (IOException ex) {
+                throw new DecodingException("Could not create a " + factory.getFormatName() + " parser", ex);
+            }
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<T> feed(DataBuffer buffer) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            try {
+                feeder.feedInput(bytes, 0, bytes.length);
+                return parseAvailable();
+            } catch (IOException ex) {
+                throw new DecodingException("Malformed employee list from Mock API", ex);
+            }
+        }
+
+        List<T> endOfInput() {
+            feeder.endOfInput();
+            try {
+                List<T> elements = parseAvailable();
+                if (depth != 0 || inData || element != null) {
+                    throw new DecodingException("Employee list from Mock API ended mid-document");
+                }
+                return elements;
+            } catch (IOException ex) {
+                throw new DecodingException("Malformed employee list from Mock API", ex);
+            }
+        }
+
+        private List<T> parseAvailable() throws IOException {
+            List<T> elements = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (element != null) {
+                    copyElementToken(token, elements);
+                } else if (inData) {
+                    startElement(token);
+                } else {
+                    skipOutsideData(token);
+                }
+            }
+            return elements;
+        }
+
+        private void copyElementToken(JsonToken token, List<T> elements) throws IOException {
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                elementDepth++;
+            } else if (token.isStructEnd() && --elementDepth == 0) {
+                try (JsonParser elementParser = element.asParser(mapper)) {
+                    elements.add(reader.readValue(elementParser));
+                }
+                element = null;
+            }
+        }
+
+        private void startElement(JsonToken token) throws IOException {
+            if (token == JsonToken.END_ARRAY) {
+                inData = false;
+            } else if (token == JsonToken.START_OBJECT) {
+                element = new TokenBuffer(parser);
+                element.copyCurrentEvent(parser);
+                elementDepth = 1;
+            } else if (token != JsonToken.VALUE_NULL) {
+                throw new DecodingException("Expected an object in the data array but found " + token);
+            }
+        }
+
+        private void skipOutsideData(JsonToken token) throws IOException {
+            if (token == JsonToken.FIELD_NAME) {
+                dataFieldNext = depth == 1 && DATA_FIELD.equals(parser.currentName());
+                return;
+            }
+            if (token == JsonToken.START_ARRAY && dataFieldNext) {
+                inData = true;
+            } else if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            dataFieldNext = false;
+        }
+    }
+}
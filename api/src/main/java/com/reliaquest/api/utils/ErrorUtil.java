@@ -7,18 +7,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 public class ErrorUtil {
     private static final Logger log = LoggerFactory.getLogger(ErrorUtil.class);
+    private static final int MAX_RATE_LIMIT_RETRIES = 4;
 
     /**
-     * Returns a function that handles rate limit errors for WebClient .onStatus() calls.
+     * Returns a function that handles rate limit errors for WebClient .onStatus() calls, counting them in
+     * {@code metrics}.
      */
-    public static Function<ClientResponse, Mono<? extends Throwable>> handleRateLimit(String message) {
+    public static Function<ClientResponse, Mono<? extends Throwable>> handleRateLimit(
+            String message, UpstreamMetrics metrics) {
         return r -> r.createException().flatMap(e -> {
+            metrics.recordRateLimited();
             log.warn("Rate Limit: {}", message, e);
             return Mono.error(e);
         });
@@ -63,11 +69,34 @@ public class ErrorUtil {
      * - Exponential backoff starting at 1 second, growing to handle longer server backoffs
      * - Max delay of 120 seconds to accommodate worst-case server backoff (90s + buffer)
      * - Only retries on 429 TOO_MANY_REQUESTS errors
+     * Each retry passes back through {@link UpstreamRateLimiter}, which holds it until the learned window allows it.
+     * Retries, and calls that ran out of them, are counted in {@code metrics}.
      */
-    public static Retry rateLimitRetry() {
-        return Retry.backoff(4, Duration.ofSeconds(1))
+    public static Retry rateLimitRetry(UpstreamMetrics metrics) {
+        return Retry.backoff(MAX_RATE_LIMIT_RETRIES, Duration.ofSeconds(1))
                 .maxBackoff(Duration.ofSeconds(120))
                 .filter(ex -> ex instanceof WebClientResponseException
-                        && ((WebClientResponseException) ex).getStatusCode() == HttpStatus.TOO_MANY_REQUESTS);
+                        && ((WebClientResponseException) ex).getStatusCode() == HttpStatus.TOO_MANY_REQUESTS)
+                .doBeforeRetry(signal -> metrics.recordRetry())
+                .onRetryExhaustedThrow((spec, signal) -> {
+                    metrics.recordRetriesExhausted();
+                    return Exceptions.retryExhausted(
+                            "Retries exhausted: " + signal.totalRetries() + "/" + MAX_RATE_LIMIT_RETRIES,
+                            signal.failure());
+                });
+    }
+
+    /**
+     * Whether a failed call means the Mock API is temporarily unable to serve us: rate limited (429), erroring (5xx)
+     * or unreachable, including when {@link #rateLimitRetry(UpstreamMetrics)} has given up retrying.
+     */
+    public static boolean isUpstreamUnavailable(Throwable ex) {
+        Throwable cause = Exceptions.isRetryExhausted(ex) ? ex.getCause() : ex;
+        if (cause instanceof WebClientRequestException) {
+            return true;
+        }
+        return cause instanceof WebClientResponseException e
+                && (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS
+                        || e.getStatusCode().is5xxServerError());
     }
 }
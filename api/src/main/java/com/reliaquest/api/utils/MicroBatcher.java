@@ -0,0 +1,118 @@
+package com.reliaquest.api.utils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Collects concurrent calls into batches and makes one call per batch. A batch is sent once it holds
+ * {@code maxSize} items or its first item has waited {@code maxWait}, whichever comes first. Each caller gets its own
+ * {@link CompletableFuture}, completed with the result for its item or failed with the error for it; a batch call
+ * that fails as a whole fails every caller in it.
+ *
+ * @param <I> item submitted by each caller
+ * @param <O> result for each item
+ */
+public class MicroBatcher<I, O> implements AutoCloseable {
+
+    private final Function<List<I>, Mono<List<Outcome<O>>>> call;
+    private final Sinks.Many<Pending<I, O>> pending = Sinks.many().unicast().onBackpressureBuffer();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder calls = new LongAdder();
+
+    /**
+     * @param call sends one batch and answers with an outcome per item, in the same order
+     * @param parallelism most batch calls in flight at once; further batches wait
+     */
+    public MicroBatcher(
+            int maxSize, Duration maxWait, int parallelism, Function<List<I>, Mono<List<Outcome<O>>>> call) {
+        this.call = call;
+        pending.asFlux()
+                .bufferTimeout(maxSize, maxWait, true)
+                .flatMap(this::dispatch, parallelism)
+                .subscribe();
+    }
+
+    public CompletableFuture<O> submit(I item) {
+        Pending<I, O> entry = new Pending<>(item, new CompletableFuture<>());
+        Sinks.EmitResult result;
+        // The sink accepts one emitter at a time
+        synchronized (pending) {
+            result = pending.tryEmitNext(entry);
+        }
+        if (result.isFailure()) {
+            entry.result().completeExceptionally(new IllegalStateException("Batcher is closed: " + result));
+        }
+        return entry.result();
+    }
+
+    /**
+     * Number of items submitted and sent in a batch.
+     */
+    public long getItems() {
+        return items.sum();
+    }
+
+    /**
+     * Number of batch calls made.
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Stops taking items; the ones already submitted are still sent.
+     */
+    @Override
+    public void close() {
+        synchronized (pending) {
+            pending.tryEmitComplete();
+        }
+    }
+
+    private Mono<Void> dispatch(List<Pending<I, O>> batch) {
+        items.add(batch.size());
+        calls.increment();
+        return Mono.defer(() -> call.apply(batch.stream().map(Pending::item).toList()))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Batch call completed without a result")))
+                .doOnNext(outcomes -> complete(batch, outcomes))
+                .doOnError(error -> batch.forEach(entry -> entry.result().completeExceptionally(error)))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private static <I, O> void complete(List<Pending<I, O>> batch, List<Outcome<O>> outcomes) {
+        if (outcomes.size() != batch.size()) {
+            throw new IllegalStateException(
+                    "Batch call returned " + outcomes.size() + " results for " + batch.size() + " items");
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Outcome<O> outcome = outcomes.get(i);
+            if (outcome.error() != null) {
+                batch.get(i).result().completeExceptionally(outcome.error());
+            } else {
+                batch.get(i).result().complete(outcome.value());
+            }
+        }
+    }
+
+    /**
+     * The result for one item of a batch: its value, or the error that only this item failed with.
+     */
+    public record Outcome<O>(O value, Throwable error) {
+
+        public static <O> Outcome<O> success(O value) {
+            return new Outcome<>(value, null);
+        }
+
+        public static <O> Outcome<O> failure(Throwable error) {
+            return new Outcome<>(null, error);
+        }
+    }
+
+    private record Pending<I, O>(I item, CompletableFuture<O> result) {}
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.api.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into a single in-flight call. Callers arriving while a call for their
+ * key is running receive the same {@link CompletableFuture} instead of starting another one; once it completes, the
+ * next caller starts a fresh call.
+ * <p>
+ * The returned future is shared, so callers must not complete or cancel it themselves.
+ *
+ * @param <K> logical key identifying equivalent calls
+ * @param <V> result type of the call
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        calls.increment();
+        CompletableFuture<V> shared = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            collapsed.increment();
+            return existing;
+        }
+
+        try {
+            call.get().whenComplete((value, error) -> {
+                // Release the key before completing so callers reacting to the result start a new call
+                inFlight.remove(key, shared);
+                if (error != null) {
+                    shared.completeExceptionally(error);
+                } else {
+                    shared.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(e);
+        }
+        return shared;
+    }
+
+    /**
+     * Total number of calls requested, including the ones that were collapsed.
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Number of calls that joined an in-flight call instead of starting their own.
+     */
+    public long getCollapsed() {
+        return collapsed.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+}
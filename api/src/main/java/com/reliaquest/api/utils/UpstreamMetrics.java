@@ -0,0 +1,154 @@
+package com.reliaquest.api.utils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import reactor.core.publisher.Mono;
+
+/**
+ * Metrics for calls to the Mock API: how long they take, how often they are rate limited and retried, and what the
+ * components making them report about themselves.
+ * <p>
+ * Components register here when they are created, which may be before or after the registry is bound; either way
+ * their meters end up in it. Nothing is timed until a registry is bound.
+ */
+public class UpstreamMetrics implements MeterBinder {
+    private static final String UPSTREAM_TIMER = "employee.upstream.requests";
+
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder retriesExhausted = new LongAdder();
+    private final List<MeterBinder> components = new ArrayList<>();
+    private volatile MeterRegistry boundRegistry;
+
+    public void recordRateLimited() {
+        rateLimited.increment();
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordRetriesExhausted() {
+        retriesExhausted.increment();
+    }
+
+    /**
+     * Starts timing an upstream call in {@value #UPSTREAM_TIMER}, tagged with the operation and, once stopped, its
+     * outcome.
+     */
+    public Sample start(String operation) {
+        MeterRegistry bound = boundRegistry;
+        return bound != null ? new Sample(bound, operation, Timer.start(bound)) : Sample.NONE;
+    }
+
+    /**
+     * Times an upstream call from subscription to its response, rate limiter waits and retries included.
+     */
+    public <T> Function<Mono<T>, Mono<T>> timed(String operation) {
+        return call -> Mono.defer(() -> {
+            Sample sample = start(operation);
+            return call.doOnSuccess(value -> sample.stop("success")).doOnError(error -> sample.stop("error"));
+        });
+    }
+
+    /**
+     * Publishes how many upstream calls were requested and how many of those were collapsed into an in-flight one.
+     */
+    public <K, V> void registerCoalescing(String operation, SingleFlight<K, V> singleFlight) {
+        register(registry -> {
+            FunctionCounter.builder("employee.upstream.calls", singleFlight, SingleFlight::getCalls)
+                    .description("Upstream calls requested, including collapsed ones")
+                    .tag("operation", operation)
+                    .register(registry);
+            FunctionCounter.builder("employee.upstream.coalesced", singleFlight, SingleFlight::getCollapsed)
+                    .description("Upstream calls that joined an in-flight request instead of starting their own")
+                    .tag("operation", operation)
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Publishes how many calls were sent as part of a batch, and in how many batch requests.
+     */
+    public <I, O> void registerBatching(String operation, MicroBatcher<I, O> batcher) {
+        register(registry -> {
+            FunctionCounter.builder("employee.upstream.batched", batcher, MicroBatcher::getItems)
+                    .description("Calls sent to the Mock API as part of a batch")
+                    .tag("operation", operation)
+                    .register(registry);
+            FunctionCounter.builder("employee.upstream.batches", batcher, MicroBatcher::getCalls)
+                    .description("Batch requests sent to the Mock API")
+                    .tag("operation", operation)
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Publishes the rate limiter's learned limits and queue depth.
+     */
+    public void registerRateLimiter(UpstreamRateLimiter rateLimiter) {
+        register(rateLimiter);
+    }
+
+    /**
+     * Publishes how many 429s the Mock API has answered with, how many calls were retried because of them, and how
+     * many gave up after the last retry, along with the meters of every registered component.
+     */
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.upstream.ratelimit.responses", rateLimited, LongAdder::sum)
+                .description("429 Too Many Requests responses from the Mock API")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.retries", retries, LongAdder::sum)
+                .description("Calls to the Mock API retried after a 429")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.retries.exhausted", retriesExhausted, LongAdder::sum)
+                .description("Calls to the Mock API that were still rate limited after the last retry")
+                .register(registry);
+        for (MeterBinder component : components) {
+            component.bindTo(registry);
+        }
+        this.boundRegistry = registry;
+    }
+
+    private synchronized void register(MeterBinder component) {
+        components.add(component);
+        if (boundRegistry != null) {
+            component.bindTo(boundRegistry);
+        }
+    }
+
+    /**
+     * A running upstream call timing, stopped once with the call's outcome.
+     */
+    public static final class Sample {
+        private static final Sample NONE = new Sample(null, null, null);
+
+        private final MeterRegistry registry;
+        private final String operation;
+        private final Timer.Sample sample;
+
+        private Sample(MeterRegistry registry, String operation, Timer.Sample sample) {
+            this.registry = registry;
+            this.operation = operation;
+            this.sample = sample;
+        }
+
+        public void stop(String outcome) {
+            if (sample == null) {
+                return;
+            }
+            sample.stop(Timer.builder(UPSTREAM_TIMER)
+                    .description("Calls to the Mock API, from the first attempt to the final response")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.reliaquest.api.utils;
+
+import com.reliaquest.api.config.EmployeeApiProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Client-side admission control for calls to the Mock API, so requests that would be rejected with a 429 are held
+ * back instead of sent.
+ * <p>
+ * The Mock API admits a fixed number of requests and then rejects everything until a quiet window has passed. This
+ * filter mirrors that with a token bucket holding {@code quota} tokens, refilled in full {@code window} after it was
+ * emptied, and learns both numbers from the 429 boundaries it observes:
+ * <ul>
+ *   <li>A 429 part-way through a bucket means the quota is the number of calls that succeeded before it.</li>
+ *   <li>A bucket used up without a 429 probes one call higher next time (additive increase).</li>
+ *   <li>A 429 on the first call after a refill means the window is too short, so it grows by half (multiplicative
+ *   decrease of the rate); a successful first call shortens it by a second to probe back down.</li>
+ * </ul>
+ * A 429 that carries {@code Retry-After} refills the bucket when the header says, rather than a whole window later, so
+ * an upstream that paces calls instead of enforcing a quiet window is not waited out needlessly.
+ * <p>
+ * Calls wait for a token rather than fail; once {@code maxQueued} calls are already waiting, further calls are
+ * rejected locally with a 429 so the caller's existing rate-limit handling applies.
+ */
+public class UpstreamRateLimiter implements ExchangeFilterFunction, MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(UpstreamRateLimiter.class);
+
+    private static final long WINDOW_PROBE_STEP_MILLIS = 1_000;
+    private static final double WINDOW_BACKOFF_FACTOR = 1.5;
+
+    private final Clock clock;
+    private final long minWindowMillis;
+    private final long maxWindowMillis;
+    private final int maxQueued;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Guarded by this
+    private int quota;
+    private long windowMillis;
+    private int tokens;
+    private long availableAt;
+    private long bucket;
+    private int succeededInBucket;
+    private boolean throttledInBucket;
+
+    public UpstreamRateLimiter(EmployeeApiProperties.RateLimit properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    UpstreamRateLimiter(EmployeeApiProperties.RateLimit properties, Clock clock) {
+        this.clock = clock;
+        this.minWindowMillis = properties.getMinWindow().toMillis();
+        this.maxWindowMillis = properties.getMaxWindow().toMillis();
+        this.maxQueued = properties.getMaxQueued();
+        this.quota = Math.max(1, properties.getInitialQuota());
+        this.windowMillis = properties.getInitialWindow().toMillis();
+        this.tokens = quota;
+        this.availableAt = clock.millis();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            Permit permit = reserve();
+            if (permit == null) {
+                rejected.increment();
+                log.warn(
+                        "Rejecting {} {}: {} calls already waiting for the Mock API",
+                        request.method(),
+                        request.url(),
+                        maxQueued);
+                return Mono.error(WebClientResponseException.create(
+                        HttpStatus.TOO_MANY_REQUESTS.value(),
+                        "Too many calls waiting for the Mock API",
+                        HttpHeaders.EMPTY,
+                        new byte[0],
+                        null));
+            }
+            Mono<ClientResponse> exchange = next.exchange(request).doOnNext(response -> complete(permit, response));
+            if (permit.waitMillis() == 0) {
+                return exchange;
+            }
+            log.debug(
+                    "Holding {} {} for {}ms to stay under the Mock API rate limit",
+                    request.method(),
+                    request.url(),
+                    permit.waitMillis());
+            return Mono.delay(Duration.ofMillis(permit.waitMillis()))
+                    .doFinally(signal -> queued.decrementAndGet())
+                    .then(exchange);
+        });
+    }
+
+    /**
+     * Takes a token, returning how long the caller has to wait for it, or {@code null} when too many callers are
+     * already waiting.
+     */
+    synchronized Permit reserve() {
+        long now = clock.millis();
+        if (tokens == 0) {
+            tokens = quota;
+            bucket++;
+            succeededInBucket = 0;
+            throttledInBucket = false;
+        }
+        long grantAt = Math.max(now, availableAt);
+        if (grantAt > now) {
+            if (queued.get() >= maxQueued) {
+                return null;
+            }
+            queued.incrementAndGet();
+        }
+        boolean first = tokens == quota;
+        tokens--;
+        if (tokens == 0) {
+            // The upstream starts its quiet window at the call that used up the quota
+            availableAt = grantAt + windowMillis;
+        }
+        admitted.increment();
+        return new Permit(bucket, first, grantAt - now);
+    }
+
+    /**
+     * Feeds the outcome of a call admitted with {@code permit} back into the learned quota and window.
+     */
+    synchronized void complete(Permit permit, ClientResponse response) {
+        boolean rateLimited = response.statusCode() == HttpStatus.TOO_MANY_REQUESTS;
+        if (rateLimited) {
+            throttled.increment();
+        }
+        if (permit.bucket() != bucket) {
+            // The answer belongs to a bucket we have already moved past; it says nothing about the current one
+            return;
+        }
+
+        if (!rateLimited) {
+            succeededInBucket++;
+            if (permit.first()) {
+                windowMillis = Math.max(minWindowMillis, windowMillis - WINDOW_PROBE_STEP_MILLIS);
+            }
+            if (tokens == 0 && succeededInBucket == quota && !throttledInBucket) {
+                quota++;
+                log.debug("Mock API admitted a full bucket, probing quota {}", quota);
+            }
+            return;
+        }
+
+        if (throttledInBucket) {
+            return;
+        }
+        throttledInBucket = true;
+        if (permit.first()) {
+            windowMillis = Math.min(maxWindowMillis, (long) (windowMillis * WINDOW_BACKOFF_FACTOR));
+        } else {
+            quota = Math.max(1, succeededInBucket);
+        }
+        tokens = 0;
+        long retryAfterMillis = retryAfterMillis(response);
+        if (retryAfterMillis >= 0) {
+            // The Mock API says when it takes the next call, which may be well before a whole window has passed
+            availableAt = clock.millis() + retryAfterMillis;
+        } else {
+            availableAt = Math.max(availableAt, clock.millis() + windowMillis);
+        }
+        log.info(
+                "Mock API rate limited us; now pacing {} calls per {}ms, next call in {}ms",
+                quota,
+                windowMillis,
+                availableAt - clock.millis());
+    }
+
+    /**
+     * Returns the wait a 429 asks for in its {@code Retry-After} header, in seconds or as an HTTP date, or -1 when it
+     * has none that can be read.
+     */
+    private long retryAfterMillis(ClientResponse response) {
+        String retryAfter = response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Instant at = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return Math.max(0, at.toEpochMilli() - clock.millis());
+            } catch (DateTimeParseException notDate) {
+                return -1;
+            }
+        }
+    }
+
+    public synchronized int getQuota() {
+        return quota;
+    }
+
+    public synchronized Duration getWindow() {
+        return Duration.ofMillis(windowMillis);
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.upstream.ratelimit.quota", this, UpstreamRateLimiter::getQuota)
+                .description("Calls the Mock API is believed to admit per window")
+                .register(registry);
+        Gauge.builder("employee.upstream.ratelimit.window", this, limiter -> limiter.getWindow().toMillis() / 1000.0)
+                .description("Learned quiet window the Mock API enforces once the quota is used up")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("employee.upstream.ratelimit.queued", this, UpstreamRateLimiter::getQueued)
+                .description("Calls waiting for a token before being sent to the Mock API")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.ratelimit.admitted", admitted, LongAdder::sum)
+                .description("Calls given a token")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.ratelimit.throttled", throttled, LongAdder::sum)
+                .description("Admitted calls the Mock API still answered with 429")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.ratelimit.rejected", rejected, LongAdder::sum)
+                .description("Calls rejected locally because the wait queue was full")
+                .register(registry);
+    }
+
+    record Permit(long bucket, boolean first, long waitMillis) {}
+}
@@ -0,0 +1,94 @@
+package com.reliaquest.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class EmployeeNameIndexTest {
+
+    private final EmployeeNameIndex index = new EmployeeNameIndex(List.of(
+            employee("1", "John Doe"),
+            employee("2", "Jane Smith"),
+            employee("3", "Johnny Cash"),
+            employee("4", "Jos\u00e9 Mar\u00eda Garc\u00eda"),
+            employee("5", null),
+            employee("6", "Bob Johnson")));
+
+    @Test
+    void search_substring_isCaseInsensitiveAndKeepsSnapshotOrder() {
+        // When
+        List<Employee> result = index.search("JOHN", 0);
+
+        // Then
+        assertThat(result).extracting(Employee::getId).containsExactly("1", "3", "6");
+    }
+
+    @Test
+    void search_ignoresAccentsOnBothSides() {
+        // When/Then
+        assertThat(index.search("jose maria", 0)).extracting(Employee::getId).containsExactly("4");
+        assertThat(index.search("Garc\u00eda", 0)).extracting(Employee::getId).containsExactly("4");
+    }
+
+    @Test
+    void search_fragmentShorterThanTrigram_scansFoldedNames() {
+        // When
+        List<Employee> result = index.search("sm", 0);
+
+        // Then
+        assertThat(result).extracting(Employee::getId).containsExactly("2");
+    }
+
+    @Test
+    void search_fragmentSpanningWords_returnsEmpty() {
+        assertThat(index.search("ohndoe", 0)).isEmpty();
+    }
+
+    @Test
+    void search_unknownTrigram_returnsEmpty() {
+        assertThat(index.search("xyz", 0)).isEmpty();
+    }
+
+    @Test
+    void search_limit_stopsEarly() {
+        // When
+        List<Employee> result = index.search("john", 2);
+
+        // Then
+        assertThat(result).extracting(Employee::getId).containsExactly("1", "3");
+    }
+
+    @Test
+    void search_matchesLinearScan_onGeneratedNames() {
+        // Given
+        String[] parts = {"jo", "hn", "an", "na", "doe", "sm", "ith", "b", "c", " "};
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int j = 0, count = 1 + random.nextInt(5); j < count; j++) {
+                name.append(parts[random.nextInt(parts.length)]);
+            }
+            employees.add(employee(String.valueOf(i), name.toString()));
+        }
+        EmployeeNameIndex generated = new EmployeeNameIndex(employees);
+
+        for (int q = 0; q < 200; q++) {
+            String fragment = parts[random.nextInt(parts.length)] + parts[random.nextInt(parts.length)];
+            List<Employee> expected = employees.stream()
+                    .filter(employee -> employee.getName().contains(fragment))
+                    .toList();
+
+            // When/Then
+            assertThat(generated.search(fragment, 0)).as(fragment).containsExactlyElementsOf(expected);
+        }
+    }
+
+    private static Employee employee(String id, String name) {
+        return Employee.builder().id(id).name(name).salary(50000).age(30).build();
+    }
+}
@@ -0,0 +1,232 @@
+package com.reliaquest.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class EmployeeSnapshotCacheTest {
+
+    private static final Duration MAX_STALENESS = Duration.ofMinutes(5);
+
+    private MutableClock clock;
+    private Deque<Mono<List<Employee>>> responses;
+    private AtomicInteger loads;
+    private EmployeeSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        responses = new ArrayDeque<>();
+        loads = new AtomicInteger();
+        cache = new EmployeeSnapshotCache(
+                () -> {
+                    loads.incrementAndGet();
+                    return responses.removeFirst().flatMapIterable(employees -> employees);
+                },
+                MAX_STALENESS,
+                clock);
+    }
+
+    @Test
+    void get_coldStart_loadsOnceAndServesFromSnapshot() {
+        // Given
+        responses.add(Mono.just(List.of(employee("1", "John Doe"))));
+
+        // When
+        EmployeeSnapshot first = cache.get().block();
+        clock.advance(Duration.ofMinutes(1));
+        EmployeeSnapshot second = cache.get().block();
+
+        // Then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+        assertThat(second.employees()).extracting(Employee::getName).containsExactly("John Doe");
+    }
+
+    @Test
+    void refresh_publishesNewVersion() {
+        // Given
+        responses.add(Mono.just(List.of(employee("1", "John Doe"))));
+        responses.add(Mono.just(List.of(employee("1", "John Doe"), employee("2", "Jane Smith"))));
+        EmployeeSnapshot first = cache.get().block();
+
+        // When
+        EmployeeSnapshot refreshed = cache.refresh().block();
+
+        // Then
+        assertThat(refreshed.version()).isGreaterThan(first.version());
+        assertThat(cache.get().block()).isSameAs(refreshed);
+        assertThat(refreshed.employees()).hasSize(2);
+    }
+
+    @Test
+    void refresh_rateLimited_keepsServingStaleSnapshot() {
+        // Given
+        responses.add(Mono.just(List.of(employee("1", "John Doe"))));
+        responses.add(Mono.error(WebClientResponseException.create(429, "Too Many Requests", null, null, null)));
+        EmployeeSnapshot first = cache.get().block();
+        clock.advance(Duration.ofMinutes(2));
+
+        // When
+        EmployeeSnapshot result = cache.refresh().block();
+
+        // Then
+        assertThat(result).isSameAs(first);
+    }
+
+    @Test
+    void get_beyondMaxStalenessWhileUpstreamFails_returnsError() {
+        // Given
+        responses.add(Mono.just(List.of(employee("1", "John Doe"))));
+        responses.add(Mono.error(WebClientResponseException.create(503, "Service Unavailable", null, null, null)));
+        cache.get().block();
+        clock.advance(MAX_STALENESS.plusSeconds(1));
+
+        // When/Then
+        StepVerifier.create(cache.get())
+                .expectError(WebClientResponseException.class)
+                .verify();
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void refresh_nonUpstreamError_isNotMasked() {
+        // Given
+        responses.add(Mono.just(List.of(employee("1", "John Doe"))));
+        responses.add(Mono.error(WebClientResponseException.create(400, "Bad Request", null, null, null)));
+        cache.get().block();
+
+        // When/Then
+        StepVerifier.create(cache.refresh())
+                .expectError(WebClientResponseException.class)
+                .verify();
+    }
+
+    @Test
+    void applyCreatedAndDeleted_updateSnapshotInPlaceOfRefresh() {
+        // Given
+        responses.add(Mono.just(List.of(employee("1", "John Doe"))));
+        EmployeeSnapshot initial = cache.get().block();
+
+        // When
+        cache.applyCreated(employee("2", "Jane Smith"));
+        cache.applyDeleted("1");
+        EmployeeSnapshot updated = cache.get().block();
+
+        // Then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(updated.version()).isGreaterThan(initial.version());
+        assertThat(updated.fetchedAt()).isEqualTo(initial.fetchedAt());
+        assertThat(updated.employees()).extracting(Employee::getName).containsExactly("Jane Smith");
+    }
+
+    @Test
+    void refresh_writesDuringLoad_areReplayedOntoLoadedList() {
+        // Given
+        responses.add(Mono.just(List.of(employee("1", "John Doe"))));
+        cache.get().block();
+        CompletableFuture<List<Employee>> inFlight = new CompletableFuture<>();
+        responses.add(Mono.fromFuture(inFlight));
+        CompletableFuture<EmployeeSnapshot> refreshing = cache.refresh().toFuture();
+
+        // When
+        cache.applyCreated(employee("2", "Jane Smith"));
+        cache.applyDeleted("1");
+        EmployeeSnapshot written = cache.peek().orElseThrow();
+        inFlight.complete(List.of(employee("1", "John Doe")));
+        EmployeeSnapshot published = refreshing.join();
+
+        // Then
+        assertThat(published.employees()).extracting(Employee::getName).containsExactly("Jane Smith");
+        assertThat(published.version()).isGreaterThan(written.version());
+        assertThat(cache.get().block()).isSameAs(published);
+    }
+
+    @Test
+    void refresh_fullReloadAfterNotModified_replaysNoEarlierWrites() {
+        // Given - the list is revalidated, then written to locally, then reloaded in full (as after a 410)
+        Deque<EmployeeListing> listings = new ArrayDeque<>();
+        listings.add(EmployeeListing.of(
+                "\"v1\"", 1L, Flux.just(employee("1", "John Doe"), employee("2", "Jane Smith"))));
+        listings.add(EmployeeListing.notModified());
+        listings.add(EmployeeListing.of("\"v3\"", 3L, Flux.just(employee("1", "John Doe"))));
+        EmployeeSnapshotCache conditional =
+                new EmployeeSnapshotCache(previous -> Mono.fromSupplier(listings::removeFirst), MAX_STALENESS, clock);
+        conditional.get().block();
+        conditional.refresh().block();
+
+        // When
+        conditional.applyCreated(employee("3", "David Green"));
+        boolean recordedAfterRevalidation = conditional.isRecordingWrites();
+        EmployeeSnapshot reloaded = conditional.refresh().block();
+
+        // Then - the create was deleted upstream before the reload, so it must not come back
+        assertThat(recordedAfterRevalidation).isFalse();
+        assertThat(reloaded.employees()).extracting(Employee::getName).containsExactly("John Doe");
+        assertThat(conditional.isRecordingWrites()).isFalse();
+        assertThat(listings).isEmpty();
+    }
+
+    @Test
+    void applyCreated_withoutSnapshot_isIgnored() {
+        // When
+        cache.applyCreated(employee("2", "Jane Smith"));
+
+        // Then
+        assertThat(cache.peek()).isEmpty();
+    }
+
+    private static Employee employee(String id, String name) {
+        return Employee.builder()
+                .id(id)
+                .name(name)
+                .salary(50000)
+                .age(30)
+                .title("Developer")
+                .email(Employee.getEmailFromName(name))
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.reliaquest.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SalarySummaryTest {
+
+    @Test
+    void of_computesAggregatesAndTopEarnersInSalaryOrder() {
+        // Given
+        List<Employee> employees = List.of(
+                employee("1", "Alice Brown", 100000),
+                employee("2", "Bob Wilson", 95000),
+                employee("3", "Carol Davis", 120000),
+                employee("4", "No Salary", null));
+
+        // When
+        SalarySummary summary = SalarySummary.of(employees, 2);
+
+        // Then
+        assertThat(summary.max()).hasValue(120000);
+        assertThat(summary.min()).hasValue(95000);
+        assertThat(summary.count()).isEqualTo(3);
+        assertThat(summary.sum()).isEqualTo(315000);
+        assertThat(summary.topEarnerNames()).containsExactly("Carol Davis", "Alice Brown");
+    }
+
+    @Test
+    void of_equalSalaries_keepListOrder() {
+        // Given
+        List<Employee> employees = List.of(
+                employee("1", "First", 50000), employee("2", "Second", 50000), employee("3", "Third", 50000));
+
+        // When/Then
+        assertThat(SalarySummary.of(employees, 2).topEarnerNames()).containsExactly("First", "Second");
+    }
+
+    @Test
+    void of_emptyList_hasNoMaxOrMin() {
+        // When
+        SalarySummary summary = SalarySummary.of(List.of(), 10);
+
+        // Then
+        assertThat(summary.max()).isEmpty();
+        assertThat(summary.min()).isEmpty();
+        assertThat(summary.topEarnerNames()).isEmpty();
+    }
+
+    @Test
+    void minus_employeeOutsideTopAndAboveMinimum_doesNotRebuild() {
+        // Given
+        List<Employee> employees = List.of(
+                employee("1", "Top", 90000), employee("2", "Middle", 60000), employee("3", "Bottom", 30000));
+        SalarySummary summary = SalarySummary.of(employees, 1);
+        AtomicInteger rebuilds = new AtomicInteger();
+
+        // When
+        SalarySummary updated = summary.minus(employees.get(1), () -> {
+            rebuilds.incrementAndGet();
+            return summary;
+        });
+
+        // Then
+        assertThat(rebuilds.get()).isZero();
+        assertThat(updated.count()).isEqualTo(2);
+        assertThat(updated.sum()).isEqualTo(120000);
+        assertThat(updated.topEarnerNames()).containsExactly("Top");
+    }
+
+    @Test
+    void minus_topEarner_rebuilds() {
+        // Given
+        List<Employee> employees = List.of(employee("1", "Top", 90000), employee("2", "Middle", 60000));
+        SalarySummary summary = SalarySummary.of(employees, 1);
+        SalarySummary rebuilt = SalarySummary.of(employees.subList(1, 2), 1);
+
+        // When/Then
+        assertThat(summary.minus(employees.get(0), () -> rebuilt)).isSameAs(rebuilt);
+    }
+
+    @Test
+    void withChanges_deleteOfNonTopEarner_foldsSummaryWithoutRebuild() {
+        // Given
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            employees.add(employee(String.valueOf(i), "Employee " + i, i * 1000));
+        }
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(1, employees, Instant.now());
+        // Neither one of the top 10 earners nor the minimum
+        Employee deleted = employees.get(4);
+
+        // When
+        EmployeeSnapshot updated = snapshot.withChanges(
+                2, List.of(new EmployeeChange(2, EmployeeChange.Type.DELETED, deleted)), 2L, Instant.now());
+
+        // Then
+        assertThat(updated.salarySummary().topEarnerNames()).isSameAs(snapshot.salarySummary().topEarnerNames());
+        assertThat(updated.salarySummary().count()).isEqualTo(19);
+        assertThat(updated.salarySummary().sum()).isEqualTo(snapshot.salarySummary().sum() - 5000);
+        assertThat(updated.employees().findById("5")).isEmpty();
+        assertThat(updated.employees().search("Employee 5", 0)).isEmpty();
+    }
+
+    @Test
+    void snapshotMutations_matchFullRecomputation() {
+        // Given
+        Random random = new Random(7);
+        AtomicInteger ids = new AtomicInteger();
+        List<Employee> initial = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            initial.add(randomEmployee(random, ids));
+        }
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(1, initial, Instant.now());
+
+        for (int version = 2; version < 2000; version++) {
+            // When
+            if (random.nextBoolean() && !snapshot.employees().isEmpty()) {
+                String id = snapshot.employees()
+                        .get(random.nextInt(snapshot.employees().size()))
+                        .getId();
+                snapshot = snapshot.withoutEmployee(version, id);
+            } else {
+                snapshot = snapshot.withEmployee(version, randomEmployee(random, ids));
+            }
+
+            // Then
+            List<Employee> salaried = snapshot.employees().stream()
+                    .filter(employee -> Objects.nonNull(employee.getSalary()))
+                    .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                    .toList();
+            SalarySummary summary = snapshot.salarySummary();
+            assertThat(summary.topEarnerNames())
+                    .containsExactlyElementsOf(salaried.stream()
+                            .limit(EmployeeSnapshot.TOP_EARNERS)
+                            .map(Employee::getName)
+                            .toList());
+            assertThat(summary.count()).isEqualTo(salaried.size());
+            assertThat(summary.sum())
+                    .isEqualTo(salaried.stream().mapToLong(Employee::getSalary).sum());
+            assertThat(summary.max())
+                    .isEqualTo(salaried.stream().mapToInt(Employee::getSalary).max());
+            assertThat(summary.min())
+                    .isEqualTo(salaried.stream().mapToInt(Employee::getSalary).min());
+        }
+    }
+
+    private static Employee randomEmployee(Random random, AtomicInteger ids) {
+        int id = ids.incrementAndGet();
+        Integer salary = random.nextInt(10) == 0 ? null : random.nextInt(20) * 1000;
+        return employee(String.valueOf(id), "Employee " + id, salary);
+    }
+
+    private static Employee employee(String id, String name, Integer salary) {
+        return Employee.builder().id(id).name(name).salary(salary).age(30).build();
+    }
+}
@@ -13,12 +13,15 @@ import com.reliaquest.api.model.DeleteEmployeeRequest;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.impl.EmployeeService;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 @WebMvcTest(controllers = EmployeeController.class)
 class EmployeeControllerTest {
@@ -69,6 +72,22 @@ class EmployeeControllerTest {
                 .andExpect(content().json("[]"));
     }
 
+    @Test
+    void getEmployeesByIds_returnsOkWithEmployeesFound() throws Exception {
+        var e1 = new Employee(
+                "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507", "Tiger Nixon", 320800, 61, "Architect", "tnixon@company.com");
+        when(employeeService.findEmployeesByIds(
+                        List.of("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507", "5255f1a5-f9f7-4be5-829a-134bde088d17")))
+                .thenReturn(CompletableFuture.completedFuture(List.of(e1)));
+
+        mockMvc.perform(get("/api/v1/employee")
+                        .param("ids", "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507,5255f1a5-f9f7-4be5-829a-134bde088d17")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0][\"employee_name\"]").value("Tiger Nixon"));
+    }
+
     @Test
     void getEmployeeById_found_returnsOk() throws Exception {
         var id = "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507";
@@ -151,4 +170,35 @@ class EmployeeControllerTest {
                         .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void deleteEmployee_notFound_returnsNotFound() throws Exception {
+        when(employeeService.deleteEmployee(any(DeleteEmployeeRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new IllegalArgumentException("Employee with ID missing-id not found")));
+
+        mockMvc.perform(delete("/api/v1/employee/{id}", "missing-id")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteEmployee_wrappedRateLimit_returnsTooManyRequests() throws Exception {
+        var rateLimited = WebClientResponseException.create(429, "Too Many Requests", null, null, null);
+        when(employeeService.deleteEmployee(any(DeleteEmployeeRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new CompletionException(rateLimited)));
+
+        mockMvc.perform(delete("/api/v1/employee/{id}", "to-delete-id-1")).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void createEmployee_upstreamServerError_returnsServiceUnavailable() throws Exception {
+        var request = new CreateEmployeeRequest("New Employee", "Junior Developer", 50000, 30);
+        when(employeeService.createEmployee(any(CreateEmployeeRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        WebClientResponseException.create(500, "Internal Server Error", null, null, null)));
+
+        mockMvc.perform(post("/api/v1/employee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable());
+    }
 }
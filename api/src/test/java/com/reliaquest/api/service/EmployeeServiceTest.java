@@ -5,15 +5,27 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.config.EmployeeApiProperties;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.DeleteEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
 import com.reliaquest.api.service.impl.EmployeeService;
 import com.reliaquest.api.utils.ApiResponse;
+import com.reliaquest.api.utils.UpstreamMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
@@ -22,6 +34,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.reactive.function.client.WebClient;
 
 class EmployeeServiceTest {
@@ -51,6 +64,22 @@ class EmployeeServiceTest {
         objectMapper = new ObjectMapper();
     }
 
+    // Same reflection swap as setUp, for tests that need non-default properties
+    private EmployeeService serviceWith(EmployeeApiProperties properties) throws Exception {
+        return serviceWith(properties, new UpstreamMetrics());
+    }
+
+    private EmployeeService serviceWith(EmployeeApiProperties properties, UpstreamMetrics metrics) throws Exception {
+        EmployeeService service = new EmployeeService(
+                WebClient.builder(), properties, Jackson2ObjectMapperBuilder.json().build(), metrics);
+        Field clientField = EmployeeService.class.getDeclaredField("client");
+        clientField.setAccessible(true);
+        clientField.set(service, WebClient.builder()
+                .baseUrl(mockWebServer.url("/api/v1/employee").toString())
+                .build());
+        return service;
+    }
+
     @AfterEach
     void tearDown() throws Exception {
         mockWebServer.shutdown();
@@ -108,6 +137,268 @@ class EmployeeServiceTest {
         assertThat(request.getMethod()).isEqualTo("GET");
     }
 
+    @Test
+    void findAllEmployees_concurrentCallers_shareOneUpstreamRequest() throws Exception {
+        // Given - a slow upstream so both callers overlap
+        List<Employee> employees = Arrays.asList(createTestEmployee("1", "John Doe", 50000, 30, "Developer"));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(employees))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        // When
+        var first = employeeService.findAllEmployees();
+        var second = employeeService.getHighestSalaryOfEmployees();
+
+        // Then
+        assertThat(first.join()).hasSize(1);
+        assertThat(second.join()).isEqualTo(50000);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findAllEmployees_servedFromSnapshot_afterFirstLoad() throws Exception {
+        // Given
+        List<Employee> employees = Arrays.asList(createTestEmployee("1", "John Doe", 50000, 30, "Developer"));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(employees))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+        // When
+        employeeService.findAllEmployees().join();
+        List<Employee> result = employeeService.findAllEmployees().join();
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findAllEmployees_metricsBound_timesListUntilBodyDecoded() throws Exception {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UpstreamMetrics metrics = new UpstreamMetrics();
+        metrics.bindTo(registry);
+        EmployeeService service = serviceWith(new EmployeeApiProperties(), metrics);
+        List<Employee> employees = Arrays.asList(createTestEmployee("1", "John Doe", 50000, 30, "Developer"));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(employees))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+        // When
+        service.findAllEmployees().join();
+
+        // Then - the body arrives well after the headers, and is still part of the timed call
+        Timer timer = registry.find("employee.upstream.requests")
+                .tags("operation", "list", "outcome", "success")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(300);
+        assertThat(registry.get("employee.upstream.calls").tag("operation", "list").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void refreshSnapshot_listUnchanged_revalidatesWithETagAndKeepsSnapshot() throws Exception {
+        // Given
+        List<Employee> employees = Arrays.asList(createTestEmployee("1", "John Doe", 50000, 30, "Developer"));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(employees))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .addHeader(HttpHeaders.ETAG, "\"1a-3\""));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(304).addHeader(HttpHeaders.ETAG, "\"1a-3\""));
+        EmployeeSnapshot first = employeeService.refreshSnapshot().join();
+
+        // When
+        EmployeeSnapshot revalidated = employeeService.refreshSnapshot().join();
+
+        // Then
+        assertThat(revalidated.employees()).isSameAs(first.employees());
+        assertThat(revalidated.version()).isEqualTo(first.version());
+        assertThat(mockWebServer.takeRequest(1, TimeUnit.SECONDS).getHeader(HttpHeaders.IF_NONE_MATCH))
+                .isNull();
+        assertThat(mockWebServer.takeRequest(1, TimeUnit.SECONDS).getHeader(HttpHeaders.IF_NONE_MATCH))
+                .isEqualTo("\"1a-3\"");
+    }
+
+    @Test
+    void refreshSnapshot_changeFeed_appliesCreatesAndDeletesSinceSnapshotVersion() throws Exception {
+        // Given
+        Employee john = createTestEmployee("1", "John Doe", 50000, 30, "Developer");
+        Employee jane = createTestEmployee("2", "Jane Smith", 60000, 35, "Manager");
+        Employee david = createTestEmployee("3", "David Green", 55000, 26, "Analyst");
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(List.of(john, jane)))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .addHeader("X-Dataset-Version", 7));
+        ApiResponse<List<EmployeeChange>> changes = new ApiResponse<>();
+        changes.setData(List.of(
+                new EmployeeChange(8, EmployeeChange.Type.CREATED, david),
+                new EmployeeChange(9, EmployeeChange.Type.DELETED, john)));
+        changes.setStatus("success");
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createJsonResponse(changes))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .addHeader("X-Dataset-Version", 9));
+        employeeService.refreshSnapshot().join();
+
+        // When
+        EmployeeSnapshot refreshed = employeeService.refreshSnapshot().join();
+
+        // Then
+        assertThat(refreshed.employees()).extracting(Employee::getName).containsExactly("Jane Smith", "David Green");
+        assertThat(refreshed.upstreamVersion()).isEqualTo(9L);
+        assertThat(employeeService.getHighestSalaryOfEmployees().join()).isEqualTo(60000);
+        mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(mockWebServer.takeRequest(1, TimeUnit.SECONDS).getPath())
+                .isEqualTo("/api/v1/employee/changes?since=7");
+    }
+
+    @Test
+    void refreshSnapshot_changeLogTruncated_reloadsAllEmployees() throws Exception {
+        // Given
+        Employee john = createTestEmployee("1", "John Doe", 50000, 30, "Developer");
+        Employee jane = createTestEmployee("2", "Jane Smith", 60000, 35, "Manager");
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(List.of(john)))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .addHeader("X-Dataset-Version", 7));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(410));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(List.of(jane)))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .addHeader("X-Dataset-Version", 20_000));
+        employeeService.refreshSnapshot().join();
+
+        // When
+        EmployeeSnapshot refreshed = employeeService.refreshSnapshot().join();
+
+        // Then
+        assertThat(refreshed.employees()).extracting(Employee::getName).containsExactly("Jane Smith");
+        assertThat(refreshed.upstreamVersion()).isEqualTo(20_000L);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void followChanges_pushedChange_appliedToSnapshot() throws Exception {
+        // Given
+        Employee john = createTestEmployee("1", "John Doe", 50000, 30, "Developer");
+        Employee jane = createTestEmployee("2", "Jane Smith", 60000, 35, "Manager");
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(List.of(john)))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .addHeader("X-Dataset-Version", 7));
+        String change = createJsonResponse(new EmployeeChange(8, EmployeeChange.Type.CREATED, jane));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("id:8\nevent:change\ndata:" + change + "\n\n")
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE));
+        employeeService.refreshSnapshot().join();
+
+        // When
+        EmployeeSnapshot updated = employeeService.followChanges().blockFirst(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(updated.employees()).extracting(Employee::getName).containsExactly("John Doe", "Jane Smith");
+        assertThat(updated.upstreamVersion()).isEqualTo(8L);
+        mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        RecordedRequest stream = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(stream.getPath()).isEqualTo("/api/v1/employee/stream");
+        assertThat(stream.getHeader("Last-Event-ID")).isEqualTo("7");
+    }
+
+    @Test
+    void followChanges_burstOfChanges_appliedInOneUpdate() throws Exception {
+        // Given
+        Employee john = createTestEmployee("1", "John Doe", 50000, 30, "Developer");
+        Employee jane = createTestEmployee("2", "Jane Smith", 60000, 35, "Manager");
+        Employee david = createTestEmployee("3", "David Green", 55000, 40, "Analyst");
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(List.of(john)))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .addHeader("X-Dataset-Version", 7));
+        String created = createJsonResponse(new EmployeeChange(8, EmployeeChange.Type.CREATED, jane));
+        String createdToo = createJsonResponse(new EmployeeChange(9, EmployeeChange.Type.CREATED, david));
+        String deleted = createJsonResponse(new EmployeeChange(10, EmployeeChange.Type.DELETED, john));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("id:8\nevent:change\ndata:" + created + "\n\n"
+                        + "id:9\nevent:change\ndata:" + createdToo + "\n\n"
+                        + "id:10\nevent:change\ndata:" + deleted + "\n\n")
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE));
+        EmployeeSnapshot loaded = employeeService.refreshSnapshot().join();
+
+        // When
+        EmployeeSnapshot updated = employeeService.followChanges().blockFirst(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(updated.employees()).extracting(Employee::getName).containsExactly("Jane Smith", "David Green");
+        assertThat(updated.upstreamVersion()).isEqualTo(10L);
+        assertThat(updated.version()).isEqualTo(loaded.version() + 1);
+    }
+
+    @Test
+    void findAllEmployees_largeList_returnsEveryEmployee() throws Exception {
+        // Given - well past the old 10,000-row cap
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 12_000; i++) {
+            employees.add(createTestEmployee(String.valueOf(i), "Employee Number" + i, 40000 + i, 30, "Developer"));
+        }
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(employees))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+        // When
+        List<Employee> result = employeeService.findAllEmployees().join();
+
+        // Then
+        assertThat(result).hasSize(12_000);
+        assertThat(result.get(11_999).getName()).isEqualTo("Employee Number11999");
+        assertThat(employeeService.getHighestSalaryOfEmployees().join()).isEqualTo(51999);
+    }
+
+    @Test
+    void findAllEmployees_pagingEnabled_fetchesSegmentsAndMergesInOrder() throws Exception {
+        // Given - 25 employees behind a cursor-paged upstream, 10 per page, 2 segments
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            employees.add(createTestEmployee(String.valueOf(i), "Employee Number" + i, 40000 + i, 30, "Developer"));
+        }
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                HttpUrl url = request.getRequestUrl();
+                int cursor = Integer.parseInt(url.queryParameter("cursor"));
+                int end = url.queryParameter("end") == null
+                        ? employees.size()
+                        : Math.min(employees.size(), Integer.parseInt(url.queryParameter("end")));
+                int limit = Integer.parseInt(url.queryParameter("limit"));
+                int pageEnd = Math.min(end, cursor + limit);
+                MockResponse response = new MockResponse()
+                        .setBody(createEmployeeListJsonResponse(employees.subList(Math.min(cursor, pageEnd), pageEnd)))
+                        .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .addHeader("X-End-Cursor", employees.size());
+                return pageEnd < end ? response.addHeader("X-Next-Cursor", pageEnd) : response;
+            }
+        });
+        EmployeeApiProperties properties = new EmployeeApiProperties();
+        properties.getPaging().setEnabled(true);
+        properties.getPaging().setPageSize(10);
+        properties.getPaging().setParallelism(2);
+        EmployeeService pagedService = serviceWith(properties);
+
+        // When
+        List<Employee> result = pagedService.findAllEmployees().join();
+
+        // Then - first page, segments [10, 18) and [18, 25), then the tail from 25
+        assertThat(result).extracting(Employee::getId).containsExactlyElementsOf(employees.stream()
+                .map(Employee::getId)
+                .toList());
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(4);
+        assertThat(mockWebServer.takeRequest(1, TimeUnit.SECONDS).getPath())
+                .isEqualTo("/api/v1/employee?cursor=0&limit=10");
+    }
+
     @Test
     void findAllEmployeesByName_success_returnsFilteredList() throws Exception {
         // Given - Service now calls /api/v1/employee and filters client-side
@@ -161,6 +452,37 @@ class EmployeeServiceTest {
         assertThat(request.getMethod()).isEqualTo("GET");
     }
 
+    @Test
+    void findEmployeeById_lookupBatchingEnabled_mergesConcurrentLookupsIntoOneCall() throws Exception {
+        // Given
+        String johnId = "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507";
+        String janeId = "5255f1a5-f9f7-4be5-829a-134bde088d17";
+        String missingId = "d005f39a-beb8-4390-afec-fd54e91d94ee";
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(List.of(
+                        createTestEmployee(johnId, "John Doe", 50000, 30, "Developer"),
+                        createTestEmployee(janeId, "Jane Smith", 60000, 35, "Manager"))))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+        EmployeeApiProperties properties = new EmployeeApiProperties();
+        properties.getLookupBatching().setEnabled(true);
+        properties.getLookupBatching().setMaxSize(3);
+        EmployeeService batchingService = serviceWith(properties);
+
+        // When
+        CompletableFuture<Employee> jane = batchingService.findEmployeeById(janeId);
+        CompletableFuture<Employee> missing = batchingService.findEmployeeById(missingId);
+        CompletableFuture<Employee> john = batchingService.findEmployeeById(johnId);
+
+        // Then
+        assertThat(john.get(5, TimeUnit.SECONDS).getName()).isEqualTo("John Doe");
+        assertThat(jane.get(5, TimeUnit.SECONDS).getName()).isEqualTo("Jane Smith");
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS));
+        assertThat(ex.getCause()).hasMessageContaining("not found");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        assertThat(mockWebServer.takeRequest(1, TimeUnit.SECONDS).getRequestUrl().queryParameter("ids"))
+                .isEqualTo(janeId + "," + missingId + "," + johnId);
+    }
+
     @Test
     void getHighestSalaryOfEmployees_success_returnsSalary() throws Exception {
         // Given - Service now calls /api/v1/employee and calculates highest salary client-side
@@ -245,6 +567,111 @@ class EmployeeServiceTest {
         assertThat(recordedRequest.getHeader(HttpHeaders.CONTENT_TYPE)).contains("application/json");
     }
 
+    @Test
+    void createEmployee_batchingEnabled_failsOnlyTheRejectedEmployee() throws Exception {
+        // Given - the Mock API rejects the whole batch over the second employee, then creates the first alone
+        Employee david = createTestEmployee("456", "David Green", 55000, 26, "Analyst");
+        ApiResponse<List<String>> rejected = new ApiResponse<>();
+        rejected.setData(Arrays.asList(null, "title must not be blank"));
+        rejected.setStatus("Failed to process request.");
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(400)
+                .setBody(createJsonResponse(rejected))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(List.of(david)))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+        EmployeeApiProperties properties = new EmployeeApiProperties();
+        properties.getCreateBatching().setEnabled(true);
+        properties.getCreateBatching().setMaxSize(2);
+        EmployeeService batchingService = serviceWith(properties);
+
+        // When
+        CompletableFuture<Employee> created =
+                batchingService.createEmployee(new CreateEmployeeRequest("David Green", "Analyst", 55000, 26));
+        CompletableFuture<Employee> invalid =
+                batchingService.createEmployee(new CreateEmployeeRequest("Jane Smith", " ", 60000, 35));
+
+        // Then
+        assertThat(created.get(5, TimeUnit.SECONDS).getName()).isEqualTo("David Green");
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> invalid.get(5, TimeUnit.SECONDS));
+        assertThat(ex.getCause()).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("title");
+        RecordedRequest batch = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(batch.getPath()).isEqualTo("/api/v1/employee/bulk");
+        assertThat(objectMapper.readTree(batch.getBody().readUtf8())).hasSize(2);
+        assertThat(objectMapper.readTree(mockWebServer.takeRequest(1, TimeUnit.SECONDS).getBody().readUtf8()))
+                .hasSize(1);
+    }
+
+    @Test
+    void deleteEmployee_byId_deletesWithOneRequest() throws Exception {
+        // Given
+        String id = "5255f1a5-f9f7-4be5-829a-134bde088d17";
+        ApiResponse<Employee> response = new ApiResponse<>();
+        response.setData(createTestEmployee(id, "Bill Bob", 89750, 24, "Documentation Engineer"));
+        response.setStatus("Successfully processed request.");
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createJsonResponse(response))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+        // When
+        String name = employeeService.deleteEmployee(new DeleteEmployeeRequest(id)).join();
+
+        // Then
+        assertThat(name).isEqualTo("Bill Bob");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        RecordedRequest request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(request.getMethod()).isEqualTo("DELETE");
+        assertThat(request.getPath()).isEqualTo("/api/v1/employee/" + id);
+    }
+
+    @Test
+    void deleteEmployee_byIdWithoutData_failsAsNotFound() throws Exception {
+        // Given
+        String id = "5255f1a5-f9f7-4be5-829a-134bde088d17";
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"data\":null,\"status\":\"Successfully processed request.\"}")
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+        // When
+        CompletableFuture<String> deleted = employeeService.deleteEmployee(new DeleteEmployeeRequest(id));
+
+        // Then
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> deleted.get(5, TimeUnit.SECONDS));
+        assertThat(ex.getCause())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Employee with ID " + id + " not found");
+    }
+
+    @Test
+    void deleteEmployee_byNameWithSnapshot_takesNameFromSnapshot() throws Exception {
+        // Given
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(createEmployeeListJsonResponse(
+                        List.of(createTestEmployee("1", "John Doe", 50000, 30, "Developer"))))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"data\":true,\"status\":\"Successfully processed request.\"}")
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+        EmployeeApiProperties properties = new EmployeeApiProperties();
+        properties.setDeleteMode(EmployeeApiProperties.DeleteMode.NAME);
+        EmployeeService byNameService = serviceWith(properties);
+        byNameService.findAllEmployees().join();
+
+        // When
+        String name = byNameService.deleteEmployee(new DeleteEmployeeRequest("1")).join();
+
+        // Then - no lookup by id before the delete
+        assertThat(name).isEqualTo("John Doe");
+        assertThat(byNameService.findAllEmployees().join()).isEmpty();
+        mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        RecordedRequest request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(request.getMethod()).isEqualTo("DELETE");
+        assertThat(request.getPath()).isEqualTo("/api/v1/employee");
+        assertThat(request.getBody().readUtf8()).contains("\"name\":\"John Doe\"");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
     // Helper methods for creating test data
     private Employee createTestEmployee(String id, String name, int salary, int age, String title) {
         return Employee.builder()
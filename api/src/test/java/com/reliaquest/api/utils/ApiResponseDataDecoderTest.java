@@ -0,0 +1,123 @@
+package com.reliaquest.api.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+class ApiResponseDataDecoderTest {
+
+    private static final String BODY = "{\"status\":\"Successfully processed request.\","
+            + "\"meta\":{\"data\":[{\"id\":\"ignored\"}]},"
+            + "\"data\":["
+            + "{\"id\":\"1\",\"employee_name\":\"Jos\u00e9 Garc\u00eda\",\"employee_salary\":50000,"
+            + "\"employee_age\":30,\"employee_title\":\"Developer\",\"employee_email\":\"jose@company.com\"},"
+            + "null,"
+            + "{\"id\":\"2\",\"employee_name\":\"Jane {Smith}\",\"employee_salary\":90000,\"extra\":{\"a\":[1,2]}}"
+            + "],\"error\":null}";
+
+    private final ApiResponseDataDecoder<Employee> decoder =
+            new ApiResponseDataDecoder<>(Jackson2ObjectMapperBuilder.json().build(), Employee.class);
+
+    @Test
+    void decode_wholeBody_emitsDataElementsOnly() {
+        // When
+        List<Employee> result = decoder.decode(chunks(BODY, Integer.MAX_VALUE))
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(result).extracting(Employee::getId).containsExactly("1", "2");
+        assertThat(result.get(0).getName()).isEqualTo("Jos\u00e9 Garc\u00eda");
+        assertThat(result.get(0).getSalary()).isEqualTo(50000);
+        assertThat(result.get(1).getName()).isEqualTo("Jane {Smith}");
+    }
+
+    @Test
+    void decode_bodySplitAtEveryByte_emitsSameElements() {
+        // When
+        List<Employee> result = decoder.decode(chunks(BODY, 1)).collectList().block();
+
+        // Then
+        assertThat(result).extracting(Employee::getName).containsExactly("Jos\u00e9 Garc\u00eda", "Jane {Smith}");
+    }
+
+    @Test
+    void decode_emitsElementsBeforeBodyHasFinished() {
+        // Given - the body never completes after the first element
+        Flux<DataBuffer> body = chunks("{\"data\":[{\"id\":\"1\"},", Integer.MAX_VALUE).concatWith(Flux.never());
+
+        // When
+        Employee first = decoder.decode(body).blockFirst();
+
+        // Then
+        assertThat(first.getId()).isEqualTo("1");
+    }
+
+    @Test
+    void decode_smileBody_emitsSameElements() throws Exception {
+        // Given
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+        byte[] smile = smileMapper.writeValueAsBytes(smileMapper.readTree(BODY));
+
+        // When
+        List<Employee> result = decoder.decode(chunks(smile, 7), ApiResponseDataDecoder.SMILE)
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(result).extracting(Employee::getName).containsExactly("Jos\u00e9 Garc\u00eda", "Jane {Smith}");
+        assertThat(result.get(0).getSalary()).isEqualTo(50000);
+    }
+
+    @Test
+    void decode_nullOrMissingData_emitsNothing() {
+        assertThat(decoder.decode(chunks("{\"data\":null}", 4)).collectList().block())
+                .isEmpty();
+        assertThat(decoder.decode(chunks("{\"status\":\"ok\"}", 4)).collectList().block())
+                .isEmpty();
+        assertThat(decoder.decode(Flux.empty()).collectList().block()).isEmpty();
+    }
+
+    @Test
+    void decode_truncatedBody_fails() {
+        // Given
+        Flux<DataBuffer> body = chunks("{\"data\":[{\"id\":\"1\"},{\"id\":", 8);
+
+        // When/Then
+        assertThrows(DecodingException.class, () -> decoder.decode(body).collectList().block());
+    }
+
+    @Test
+    void decode_nonObjectElement_fails() {
+        // When/Then
+        assertThrows(
+                DecodingException.class,
+                () -> decoder.decode(chunks("{\"data\":[1]}", 8)).collectList().block());
+    }
+
+    private static Flux<DataBuffer> chunks(String json, int size) {
+        return chunks(json.getBytes(StandardCharsets.UTF_8), size);
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] bytes, int size) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += size) {
+            byte[] chunk = Arrays.copyOfRange(bytes, offset, (int) Math.min(bytes.length, (long) offset + size));
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
@@ -4,11 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.function.Function;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import reactor.util.retry.Retry;
@@ -26,7 +29,8 @@ class ErrorUtilTest {
         when(mockResponse.createException()).thenReturn(Mono.just(mockException));
 
         // When
-        Function<ClientResponse, Mono<? extends Throwable>> handler = ErrorUtil.handleRateLimit(message);
+        Function<ClientResponse, Mono<? extends Throwable>> handler =
+                ErrorUtil.handleRateLimit(message, new UpstreamMetrics());
         Mono<? extends Throwable> result = handler.apply(mockResponse);
 
         // Then
@@ -98,7 +102,7 @@ class ErrorUtilTest {
     @Test
     void rateLimitRetry_hasCorrectConfiguration() {
         // When
-        Retry retrySpec = ErrorUtil.rateLimitRetry();
+        Retry retrySpec = ErrorUtil.rateLimitRetry(new UpstreamMetrics());
 
         // Then
         assertThat(retrySpec).isNotNull();
@@ -109,7 +113,7 @@ class ErrorUtilTest {
     @Test
     void rateLimitRetry_configurationIsValid() {
         // When
-        Retry retrySpec = ErrorUtil.rateLimitRetry();
+        Retry retrySpec = ErrorUtil.rateLimitRetry(new UpstreamMetrics());
 
         // Then - The retry spec should be created without errors
         assertThat(retrySpec).isNotNull();
@@ -138,7 +142,7 @@ class ErrorUtilTest {
     @Test
     void rateLimitRetry_doesNotRetryNonRateLimitErrors() {
         // Given
-        Retry retrySpec = ErrorUtil.rateLimitRetry();
+        Retry retrySpec = ErrorUtil.rateLimitRetry(new UpstreamMetrics());
         var attemptCounter = new java.util.concurrent.atomic.AtomicInteger(0);
         WebClientResponseException notFoundException =
                 WebClientResponseException.create(404, "Not Found", null, null, null);
@@ -156,6 +160,26 @@ class ErrorUtilTest {
         assertThat(attemptCounter.get()).isEqualTo(1);
     }
 
+    @Test
+    void rateLimitRetry_stillRateLimited_countsRetriesAndExhaustion() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UpstreamMetrics metrics = new UpstreamMetrics();
+        metrics.bindTo(registry);
+        WebClientResponseException rateLimitException =
+                WebClientResponseException.create(429, "Too Many Requests", null, null, null);
+
+        // When
+        StepVerifier.withVirtualTime(() -> Mono.error(rateLimitException).retryWhen(ErrorUtil.rateLimitRetry(metrics)))
+                .thenAwait(Duration.ofMinutes(10))
+                .expectErrorMatches(Exceptions::isRetryExhausted)
+                .verify();
+
+        // Then
+        assertThat(registry.get("employee.upstream.retries").functionCounter().count()).isEqualTo(4);
+        assertThat(registry.get("employee.upstream.retries.exhausted").functionCounter().count()).isEqualTo(1);
+    }
+
     @Test
     void errorHandlers_preserveOriginalException() {
         // Given
@@ -167,7 +191,8 @@ class ErrorUtilTest {
         when(mockResponse.createException()).thenReturn(Mono.just(originalException));
 
         // When
-        Function<ClientResponse, Mono<? extends Throwable>> handler = ErrorUtil.handleRateLimit(customMessage);
+        Function<ClientResponse, Mono<? extends Throwable>> handler =
+                ErrorUtil.handleRateLimit(customMessage, new UpstreamMetrics());
 
         // Then
         StepVerifier.create(handler.apply(mockResponse))
@@ -180,11 +205,11 @@ class ErrorUtilTest {
     @Test
     void allErrorHandlers_returnNonNullFunctions() {
         // When/Then
-        assertThat(ErrorUtil.handleRateLimit("test")).isNotNull();
+        assertThat(ErrorUtil.handleRateLimit("test", new UpstreamMetrics())).isNotNull();
         assertThat(ErrorUtil.handleNotFound("test")).isNotNull();
         assertThat(ErrorUtil.handleBadRequest("test")).isNotNull();
         assertThat(ErrorUtil.handleError("test")).isNotNull();
-        assertThat(ErrorUtil.rateLimitRetry()).isNotNull();
+        assertThat(ErrorUtil.rateLimitRetry(new UpstreamMetrics())).isNotNull();
     }
 
     @Test
@@ -197,7 +222,8 @@ class ErrorUtilTest {
         when(mockResponse.createException()).thenReturn(Mono.just(mockException));
 
         // When/Then - Should not throw with null message
-        Function<ClientResponse, Mono<? extends Throwable>> handler = ErrorUtil.handleRateLimit(null);
+        Function<ClientResponse, Mono<? extends Throwable>> handler =
+                ErrorUtil.handleRateLimit(null, new UpstreamMetrics());
 
         StepVerifier.create(handler.apply(mockResponse))
                 .expectError(WebClientResponseException.class)
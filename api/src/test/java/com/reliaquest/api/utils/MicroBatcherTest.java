@@ -0,0 +1,110 @@
+package com.reliaquest.api.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class MicroBatcherTest {
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void submit_fullBatch_sentAsOneCall() {
+        // Given
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(3, Duration.ofMinutes(1), 1, items -> {
+            batches.add(items);
+            return Mono.just(items.stream()
+                    .map(item -> MicroBatcher.Outcome.success("#" + item))
+                    .toList());
+        });
+
+        // When
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+        CompletableFuture<String> third = batcher.submit(3);
+
+        // Then
+        assertThat(first.join()).isEqualTo("#1");
+        assertThat(second.join()).isEqualTo("#2");
+        assertThat(third.join()).isEqualTo("#3");
+        assertThat(batches).containsExactly(List.of(1, 2, 3));
+        assertThat(batcher.getItems()).isEqualTo(3);
+        assertThat(batcher.getCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_batchNotFull_sentAfterMaxWait() {
+        // Given
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(100, Duration.ofMillis(20), 1, items -> {
+            batches.add(items);
+            return Mono.just(items.stream()
+                    .map(item -> MicroBatcher.Outcome.success("#" + item))
+                    .toList());
+        });
+
+        // When
+        String result = batcher.submit(1).orTimeout(5, TimeUnit.SECONDS).join();
+
+        // Then
+        assertThat(result).isEqualTo("#1");
+        assertThat(batches).containsExactly(List.of(1));
+    }
+
+    @Test
+    void submit_itemFails_onlyThatCallerFails() {
+        // Given
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(
+                2,
+                Duration.ofMinutes(1),
+                1,
+                items -> Mono.just(List.of(
+                        MicroBatcher.Outcome.success("#1"),
+                        MicroBatcher.Outcome.failure(new IllegalArgumentException("bad")))));
+
+        // When
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+
+        // Then
+        assertThat(first.join()).isEqualTo("#1");
+        CompletionException ex = assertThrows(CompletionException.class, second::join);
+        assertThat(ex.getCause()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void submit_batchCallFails_everyCallerFails() {
+        // Given
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(
+                2, Duration.ofMinutes(1), 1, items -> Mono.error(new IllegalStateException("boom")));
+
+        // When
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+
+        // Then
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+    }
+
+    @Test
+    void submit_afterClose_failsImmediately() {
+        // Given
+        MicroBatcher<Integer, String> batcher =
+                new MicroBatcher<>(2, Duration.ofMinutes(1), 1, items -> Mono.just(List.of()));
+        batcher.close();
+
+        // When
+        CompletableFuture<String> result = batcher.submit(1);
+
+        // Then
+        assertThat(result).isCompletedExceptionally();
+    }
+}
@@ -0,0 +1,95 @@
+package com.reliaquest.api.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_concurrentCallsForSameKey_shareOneCall() {
+        // Given
+        AtomicInteger invocations = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<String> first = singleFlight.execute("all", () -> {
+            invocations.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = singleFlight.execute("all", () -> {
+            invocations.incrementAndGet();
+            return CompletableFuture.completedFuture("unexpected");
+        });
+        upstream.complete("employees");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.join()).isEqualTo("employees");
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(singleFlight.getCalls()).isEqualTo(2);
+        assertThat(singleFlight.getCollapsed()).isEqualTo(1);
+        assertThat(singleFlight.getInFlight()).isZero();
+    }
+
+    @Test
+    void execute_differentKeys_doNotShareCalls() {
+        // When
+        CompletableFuture<String> first = singleFlight.execute("1", CompletableFuture::new);
+        CompletableFuture<String> second = singleFlight.execute("2", CompletableFuture::new);
+
+        // Then
+        assertThat(second).isNotSameAs(first);
+        assertThat(singleFlight.getCollapsed()).isZero();
+        assertThat(singleFlight.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_afterCompletion_startsFreshCall() {
+        // Given
+        singleFlight.execute("all", () -> CompletableFuture.completedFuture("v1")).join();
+
+        // When
+        String result = singleFlight
+                .execute("all", () -> CompletableFuture.completedFuture("v2"))
+                .join();
+
+        // Then
+        assertThat(result).isEqualTo("v2");
+        assertThat(singleFlight.getCollapsed()).isZero();
+    }
+
+    @Test
+    void execute_failedCall_propagatesToAllCallersAndReleasesKey() {
+        // Given
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("all", () -> upstream);
+        CompletableFuture<String> second = singleFlight.execute("all", () -> upstream);
+
+        // When
+        upstream.completeExceptionally(new IllegalStateException("boom"));
+
+        // Then
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+        assertThat(singleFlight.getInFlight()).isZero();
+    }
+
+    @Test
+    void execute_callThrows_completesExceptionally() {
+        // When
+        CompletableFuture<String> result = singleFlight.execute("all", () -> {
+            throw new IllegalArgumentException("bad");
+        });
+
+        // Then
+        assertThat(result).isCompletedExceptionally();
+        assertThat(singleFlight.getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,169 @@
+package com.reliaquest.api.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.config.EmployeeApiProperties;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+class UpstreamRateLimiterTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private EmployeeApiProperties.RateLimit properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EmployeeApiProperties.RateLimit();
+        properties.setInitialQuota(10);
+        properties.setInitialWindow(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void reserve_withinQuota_admitsWithoutWaiting() {
+        // Given
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, clock);
+
+        // When/Then
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.reserve().waitMillis()).isZero();
+        }
+        assertThat(limiter.reserve().waitMillis()).isEqualTo(30_000);
+    }
+
+    @Test
+    void complete_rateLimitedPartWayThroughBucket_learnsQuotaFromSuccesses() {
+        // Given
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, clock);
+        for (int i = 0; i < 6; i++) {
+            limiter.complete(limiter.reserve(), response(HttpStatus.OK));
+        }
+
+        // When
+        limiter.complete(limiter.reserve(), response(HttpStatus.TOO_MANY_REQUESTS));
+
+        // Then
+        assertThat(limiter.getQuota()).isEqualTo(6);
+        assertThat(limiter.reserve().waitMillis()).isEqualTo(limiter.getWindow().toMillis());
+    }
+
+    @Test
+    void complete_rateLimitedWithRetryAfter_waitsOnlyAsLongAsAsked() {
+        // Given
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, clock);
+        for (int i = 0; i < 6; i++) {
+            limiter.complete(limiter.reserve(), response(HttpStatus.OK));
+        }
+        ClientResponse rateLimited = ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "3")
+                .build();
+
+        // When
+        limiter.complete(limiter.reserve(), rateLimited);
+
+        // Then
+        assertThat(limiter.getQuota()).isEqualTo(6);
+        assertThat(limiter.reserve().waitMillis()).isEqualTo(3_000);
+    }
+
+    @Test
+    void complete_fullBucketWithoutRejection_probesOneCallHigher() {
+        // Given
+        properties.setInitialQuota(5);
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, clock);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            limiter.complete(limiter.reserve(), response(HttpStatus.OK));
+        }
+
+        // Then
+        assertThat(limiter.getQuota()).isEqualTo(6);
+    }
+
+    @Test
+    void complete_rateLimitedOnFirstCallAfterRefill_growsWindow() {
+        // Given
+        properties.setInitialQuota(1);
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, clock);
+
+        // When
+        limiter.complete(limiter.reserve(), response(HttpStatus.TOO_MANY_REQUESTS));
+
+        // Then
+        assertThat(limiter.getQuota()).isEqualTo(1);
+        assertThat(limiter.getWindow()).isEqualTo(Duration.ofSeconds(45));
+    }
+
+    @Test
+    void complete_firstCallAfterRefillSucceeds_shortensWindow() {
+        // Given
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, clock);
+
+        // When
+        limiter.complete(limiter.reserve(), response(HttpStatus.OK));
+
+        // Then
+        assertThat(limiter.getWindow()).isEqualTo(Duration.ofSeconds(29));
+    }
+
+    @Test
+    void complete_lateAnswerFromEarlierBucket_isIgnored() {
+        // Given
+        properties.setInitialQuota(2);
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, clock);
+        UpstreamRateLimiter.Permit stale = limiter.reserve();
+        limiter.complete(limiter.reserve(), response(HttpStatus.OK));
+        limiter.reserve();
+
+        // When
+        limiter.complete(stale, response(HttpStatus.TOO_MANY_REQUESTS));
+
+        // Then
+        assertThat(limiter.getQuota()).isEqualTo(2);
+        assertThat(limiter.getWindow()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void filter_queueFull_rejectsLocallyWithTooManyRequests() {
+        // Given
+        properties.setInitialQuota(1);
+        properties.setMaxQueued(0);
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, clock);
+        AtomicInteger sent = new AtomicInteger();
+        ClientRequest request =
+                ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/api/v1/employee")).build();
+        ExchangeFunction upstream = r -> {
+            sent.incrementAndGet();
+            return Mono.just(response(HttpStatus.OK));
+        };
+        limiter.filter(request, upstream).block();
+
+        // When
+        WebClientResponseException ex = assertThrows(
+                WebClientResponseException.class,
+                () -> limiter.filter(request, upstream).block());
+
+        // Then
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(sent.get()).isEqualTo(1);
+    }
+
+    private static ClientResponse response(HttpStatus status) {
+        return ClientResponse.create(status).build();
+    }
+}
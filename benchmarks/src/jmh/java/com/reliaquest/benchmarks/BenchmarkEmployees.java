@@ -0,0 +1,73 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * Data shared by the benchmarks: the same seeded employees on both sides of the wire, and response bodies split
+ * the way they arrive from the network.
+ */
+final class BenchmarkEmployees {
+
+    static final String[] TITLES = {
+        "Engineer", "Senior Engineer", "Manager", "Director", "Analyst", "Designer", "Consultant", "Administrator"
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private BenchmarkEmployees() {}
+
+    /**
+     * {@code size} employees as the Mock API stores them, the same ones on every call.
+     */
+    static List<MockEmployee> mockEmployees(int size) {
+        Random random = new Random(42);
+        List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .name("Employee " + i)
+                    .salary(30000 + random.nextInt(470000))
+                    .age(16 + random.nextInt(55))
+                    .title(TITLES[random.nextInt(TITLES.length)])
+                    .email("employee" + i + "@company.com")
+                    .build());
+        }
+        return employees;
+    }
+
+    /**
+     * The employees of {@link #mockEmployees(int)} as the API reads them.
+     */
+    static List<Employee> employees(int size) {
+        List<Employee> employees = new ArrayList<>(size);
+        for (MockEmployee employee : mockEmployees(size)) {
+            employees.add(Employee.builder()
+                    .id(employee.getId().toString())
+                    .name(employee.getName())
+                    .salary(employee.getSalary())
+                    .age(employee.getAge())
+                    .title(employee.getTitle())
+                    .email(employee.getEmail())
+                    .build());
+        }
+        return employees;
+    }
+
+    /**
+     * {@code body} in network-sized buffers.
+     */
+    static Flux<DataBuffer> chunks(byte[] body) {
+        return Flux.range(0, (body.length + BUFFER_SIZE - 1) / BUFFER_SIZE)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(body, i * BUFFER_SIZE, Math.min(body.length, (i + 1) * BUFFER_SIZE))));
+    }
+}
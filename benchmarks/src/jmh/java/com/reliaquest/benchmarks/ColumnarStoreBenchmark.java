@@ -0,0 +1,85 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.ColumnarMockEmployeeStore;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * The same employees as a {@code List<MockEmployee>} and as a {@link ColumnarMockEmployeeStore}.
+ * <p>
+ * Setup prints the retained heap of each. The scans read every employee once, the way a full list response does; on
+ * the columnar side that includes building each {@link MockEmployee} from its row.
+ * <pre>
+ * ./gradlew :benchmarks:jmh -Pjmh.includes=ColumnarStoreBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ColumnarStoreBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    private List<MockEmployee> list;
+    private ColumnarMockEmployeeStore columnar;
+    private UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = BenchmarkEmployees.mockEmployees(size);
+        ids = new UUID[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = list.get(i).getId();
+        }
+        columnar = new ColumnarMockEmployeeStore(list);
+
+        long listBytes = GraphLayout.parseInstance(list).totalSize();
+        long columnarBytes = GraphLayout.parseInstance(columnar).totalSize();
+        System.out.printf(
+                "%nRetained heap for %d employees: List<MockEmployee> %,d bytes (%d per employee), "
+                        + "columnar %,d bytes (%d per employee)%n",
+                size,
+                listBytes,
+                listBytes / size,
+                columnarBytes,
+                columnarBytes / size);
+    }
+
+    @Benchmark
+    public long fullScan_list() {
+        return scan(list);
+    }
+
+    @Benchmark
+    public long fullScan_columnar() {
+        return scan(columnar.getAll());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public MockEmployee findById_columnar() {
+        return columnar.findById(ids[ThreadLocalRandom.current().nextInt(size)]).orElseThrow();
+    }
+
+    private static long scan(List<MockEmployee> employees) {
+        long total = 0;
+        for (MockEmployee employee : employees) {
+            total += employee.getSalary() + employee.getAge() + employee.getName().length();
+        }
+        return total;
+    }
+}
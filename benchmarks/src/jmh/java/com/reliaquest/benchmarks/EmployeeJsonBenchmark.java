@@ -0,0 +1,85 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.utils.ApiResponse;
+import com.reliaquest.api.utils.ApiResponseDataDecoder;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Reading the Mock API's employee list into {@link Employee}s, whose field names go through
+ * {@link Employee.PrefixNamingStrategy}.
+ * <p>
+ * The whole body is either bound to {@code ApiResponse<List<Employee>>} and unwrapped, as {@code bodyToMono} does, or
+ * streamed through {@link ApiResponseDataDecoder} over network-sized buffers, as the snapshot loader does. A single
+ * element is read on its own to separate binding from the envelope. Sizes stop at 1M: at 10M the body alone is close
+ * to the 2 GB limit of a byte array.
+ * <pre>
+ * ./gradlew :benchmarks:jmh -Pjmh.includes=EmployeeJsonBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class EmployeeJsonBenchmark {
+
+    private static final TypeReference<ApiResponse<List<Employee>>> EMPLOYEES = new TypeReference<>() {};
+
+    @Param({"100", "10000", "1000000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private ApiResponseDataDecoder<Employee> decoder;
+    private byte[] body;
+    private byte[][] elements;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        decoder = new ApiResponseDataDecoder<>(mapper, Employee.class);
+
+        List<Employee> employees = BenchmarkEmployees.employees(size);
+        elements = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            elements[i] = mapper.writeValueAsBytes(employees.get(i));
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("data", employees);
+        response.put("status", "Successfully processed request.");
+        body = mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Employee readEmployee() throws Exception {
+        return mapper.readValue(elements[ThreadLocalRandom.current().nextInt(size)], Employee.class);
+    }
+
+    @Benchmark
+    public List<Employee> unwrap_apiResponse() throws Exception {
+        ApiResponse<List<Employee>> response = mapper.readValue(body, EMPLOYEES);
+        return response.getData();
+    }
+
+    @Benchmark
+    public Long unwrap_streamingDecoder() {
+        return decoder.decode(BenchmarkEmployees.chunks(body)).count().block();
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.SalarySummary;
+import com.reliaquest.api.model.Employee;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The API's in-memory read paths over one snapshot: name search, top-10 earners and the email derived from a name,
+ * each next to the list scan or sort it replaced.
+ * <p>
+ * Names are drawn from small first and last name tables, so a last name matches about one employee in
+ * {@code LAST_NAMES.length}. The name index is built lazily by the first search, which falls in warmup.
+ * <pre>
+ * ./gradlew :benchmarks:jmh -Pjmh.includes=EmployeeSearchBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class EmployeeSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Jos\u00e9", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+        "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garc\u00eda", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin"
+    };
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    private int size;
+
+    private List<Employee> employees;
+    private EmployeeSnapshot snapshot;
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        employees = new ArrayList<>(size);
+        names = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(Employee.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .name(names[i])
+                    .salary(30000 + random.nextInt(470000))
+                    .age(16 + random.nextInt(55))
+                    .title(BenchmarkEmployees.TITLES[random.nextInt(BenchmarkEmployees.TITLES.length)])
+                    .email(Employee.getEmailFromName(names[i]))
+                    .build());
+        }
+        snapshot = EmployeeSnapshot.of(1, employees, Instant.now());
+    }
+
+    @Benchmark
+    public List<Employee> findByName_index(Query query) {
+        return snapshot.employees().search(query.fragment, 0);
+    }
+
+    /**
+     * Case-insensitive only; the index also folds accents, so it finds more for {@code garcia}.
+     */
+    @Benchmark
+    public List<Employee> findByName_listScan(Query query) {
+        String lowerCase = query.fragment.toLowerCase(Locale.ROOT);
+        return employees.stream()
+                .filter(employee -> Objects.nonNull(employee.getName())
+                        && employee.getName().toLowerCase(Locale.ROOT).contains(lowerCase))
+                .toList();
+    }
+
+    /**
+     * What a snapshot load pays for the top earners; reading them afterwards is a field access.
+     */
+    @Benchmark
+    public List<String> top10_summary() {
+        return SalarySummary.of(employees, EmployeeSnapshot.TOP_EARNERS).topEarnerNames();
+    }
+
+    @Benchmark
+    public List<String> top10_sort() {
+        return employees.stream()
+                .filter(employee -> employee.getSalary() != null)
+                .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                .limit(EmployeeSnapshot.TOP_EARNERS)
+                .map(Employee::getName)
+                .toList();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String emailFromName() {
+        return Employee.getEmailFromName(names[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Query {
+        /**
+         * A last name, matched through the trigram postings, and a fragment too short for them, matched by a scan.
+         */
+        @Param({"garcia", "an"})
+        private String fragment;
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.InMemoryMockEmployeeStore;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lookups and deletes against {@link InMemoryMockEmployeeStore}, next to the linear {@code ArrayList} scans it
+ * replaced.
+ * <p>
+ * Delete benchmarks put the removed employee straight back so the data set keeps its size across invocations.
+ * <pre>
+ * ./gradlew :benchmarks:jmh -Pjmh.includes=MockEmployeeStoreBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MockEmployeeStoreBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    private List<MockEmployee> list;
+    private MockEmployeeStore store;
+    private UUID[] ids;
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = BenchmarkEmployees.mockEmployees(size);
+        ids = new UUID[size];
+        names = new String[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = list.get(i).getId();
+            names[i] = list.get(i).getName();
+        }
+        store = new InMemoryMockEmployeeStore(list);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById_store() {
+        return store.findById(ids[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById_listScan() {
+        UUID id = ids[ThreadLocalRandom.current().nextInt(size)];
+        return list.stream()
+                .filter(employee -> Objects.nonNull(employee.getId()) && employee.getId().equals(id))
+                .findFirst();
+    }
+
+    @Benchmark
+    public MockEmployee deleteByName_store() {
+        MockEmployee removed = store.removeByName(randomName().toUpperCase()).orElseThrow();
+        store.add(removed);
+        return removed;
+    }
+
+    @Benchmark
+    public MockEmployee deleteByName_listScan() {
+        String name = randomName().toUpperCase();
+        MockEmployee removed = list.stream()
+                .filter(employee -> Objects.nonNull(employee.getName()) && employee.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow();
+        list.remove(removed);
+        list.add(removed);
+        return removed;
+    }
+
+    @Benchmark
+    public List<MockEmployee> getAll_store() {
+        return store.getAll();
+    }
+
+    /**
+     * Lookups on three threads while a fourth keeps deleting and re-adding employees.
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Optional<MockEmployee> mixed_findById() {
+        return findById_store();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public MockEmployee mixed_deleteByName() {
+        return deleteByName_store();
+    }
+
+    private String randomName() {
+        return names[ThreadLocalRandom.current().nextInt(size)];
+    }
+}
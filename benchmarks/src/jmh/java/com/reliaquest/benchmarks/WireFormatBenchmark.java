@@ -0,0 +1,90 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.utils.ApiResponseDataDecoder;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * The full employee list response in JSON and in Smile, written the way the Mock API writes them and read back the
+ * way the API reads them.
+ * <p>
+ * Setup prints the size of each body. Decoding goes through {@link ApiResponseDataDecoder} over network-sized
+ * buffers, so it includes the streaming tokenizer and the mapping to {@link Employee}.
+ * <pre>
+ * ./gradlew :benchmarks:jmh -Pjmh.includes=WireFormatBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private Response<List<MockEmployee>> response;
+    private ObjectMapper jsonMapper;
+    private ObjectMapper smileMapper;
+    private ApiResponseDataDecoder<Employee> decoder;
+    private byte[] json;
+    private byte[] smile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        response = Response.handledWith(BenchmarkEmployees.mockEmployees(size));
+
+        // Configured as the Mock API's message converters are
+        jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        smileMapper = Jackson2ObjectMapperBuilder.smile()
+                .factory(SmileFactory.builder()
+                        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                        .build())
+                .build();
+        decoder = new ApiResponseDataDecoder<>(Jackson2ObjectMapperBuilder.json().build(), Employee.class);
+
+        json = jsonMapper.writeValueAsBytes(response);
+        smile = smileMapper.writeValueAsBytes(response);
+        System.out.printf(
+                "%nBody for %d employees: JSON %,d bytes (%d per employee), Smile %,d bytes (%d per employee)%n",
+                size, json.length, json.length / size, smile.length, smile.length / size);
+    }
+
+    @Benchmark
+    public byte[] serialize_json() throws Exception {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serialize_smile() throws Exception {
+        return smileMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Long decode_json() {
+        return decoder.decode(BenchmarkEmployees.chunks(json), MediaType.APPLICATION_JSON).count().block();
+    }
+
+    @Benchmark
+    public Long decode_smile() {
+        return decoder.decode(BenchmarkEmployees.chunks(smile), ApiResponseDataDecoder.SMILE)
+                .count()
+                .block();
+    }
+}
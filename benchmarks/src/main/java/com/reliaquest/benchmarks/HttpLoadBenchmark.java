@@ -0,0 +1,108 @@
+package com.reliaquest.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Closed-loop HTTP load driver used to compare the platform-thread and virtual-thread modes of a running service.
+ * <p>
+ * For each concurrency level it keeps that many GET requests in flight for the configured duration, after a warm-up
+ * of the same length, and prints throughput, error count and latency percentiles. Usage:
+ * <pre>
+ * ./gradlew :benchmarks:loadTest --args='[url] [concurrency,...] [warmupSeconds] [durationSeconds]'
+ * </pre>
+ */
+public final class HttpLoadBenchmark {
+
+    private static final String DEFAULT_URL = "http://localhost:8111/api/v1/employee";
+    private static final String DEFAULT_CONCURRENCY = "1000,10000";
+    private static final long MAX_TRACKED_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final HttpClient client;
+    private final HttpRequest request;
+
+    private HttpLoadBenchmark(URI target) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+        this.request = HttpRequest.newBuilder(target)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        URI target = URI.create(args.length > 0 ? args[0] : DEFAULT_URL);
+        int[] levels = Arrays.stream((args.length > 1 ? args[1] : DEFAULT_CONCURRENCY).split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration warmup = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 10);
+        Duration duration = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 30);
+
+        HttpLoadBenchmark benchmark = new HttpLoadBenchmark(target);
+        System.out.printf("target=%s warmup=%ss duration=%ss%n", target, warmup.toSeconds(), duration.toSeconds());
+        System.out.printf(
+                "%12s %12s %10s %10s %10s %10s %10s%n",
+                "concurrency", "requests/s", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (int concurrency : levels) {
+            benchmark.run(concurrency, warmup, new ConcurrentHistogram(MAX_TRACKED_LATENCY_NANOS, 3), new LongAdder());
+            Histogram latencies = new ConcurrentHistogram(MAX_TRACKED_LATENCY_NANOS, 3);
+            LongAdder errors = new LongAdder();
+            long elapsed = benchmark.run(concurrency, duration, latencies, errors);
+            System.out.printf(
+                    "%12d %12.1f %10d %10.2f %10.2f %10.2f %10.2f%n",
+                    concurrency,
+                    latencies.getTotalCount() * 1e9 / elapsed,
+                    errors.sum(),
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(90)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getMaxValue()));
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Keeps {@code concurrency} requests in flight until {@code duration} has passed, then waits for the stragglers.
+     * Returns the elapsed time in nanoseconds.
+     */
+    private long run(int concurrency, Duration duration, Histogram latencies, LongAdder errors)
+            throws InterruptedException {
+        Semaphore permits = new Semaphore(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!permits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                if (failure != null || response.statusCode() >= 400) {
+                    errors.increment();
+                } else {
+                    latencies.recordValue(Math.min(System.nanoTime() - sent, MAX_TRACKED_LATENCY_NANOS));
+                }
+                permits.release();
+            });
+        }
+        permits.acquire(concurrency);
+        return System.nanoTime() - start;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
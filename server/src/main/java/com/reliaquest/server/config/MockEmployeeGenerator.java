@@ -0,0 +1,88 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.EmployeeKeys;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Generates the startup employee data set in parallel and reproducibly.
+ * <p>
+ * The data set is cut into fixed-size chunks. Each chunk is filled by its own {@link Faker} seeded from the data set
+ * seed and the chunk index, so the same seed yields the same employees, ids included, however many cores do the
+ * work.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+
+    private static final int CHUNK_SIZE = 10_000;
+    private static final int LOGGED_EMPLOYEES_LIMIT = 1_000;
+
+    private final Locale locale;
+    private final long seed;
+
+    public MockEmployeeGenerator(Locale locale, long seed) {
+        this.locale = locale;
+        this.seed = seed;
+    }
+
+    public List<MockEmployee> generate(int count) {
+        final long started = System.nanoTime();
+        final var employees = new MockEmployee[count];
+        final int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> fill(employees, chunk));
+        final long elapsedNanos = System.nanoTime() - started;
+
+        if (log.isDebugEnabled() && count <= LOGGED_EMPLOYEES_LIMIT) {
+            Arrays.stream(employees).forEach(mockEmployee -> log.debug("Created employee: {}", mockEmployee));
+        }
+        log.info(
+                "Generated {} employees in {} ms ({} employees/s) with seed {} across {} chunks",
+                count,
+                elapsedNanos / 1_000_000,
+                elapsedNanos == 0 ? count : Math.round(count * 1e9 / elapsedNanos),
+                seed,
+                chunks);
+        return new ArrayList<>(Arrays.asList(employees));
+    }
+
+    private void fill(MockEmployee[] employees, int chunk) {
+        final var random = new Random(chunkSeed(chunk));
+        final var faker = new Faker(locale, random);
+        final int end = Math.min(employees.length, (chunk + 1) * CHUNK_SIZE);
+        for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+            employees[i] = MockEmployee.builder()
+                    .id(randomUuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build();
+        }
+    }
+
+    /**
+     * Spreads the data set seed over chunks so neighbouring chunks get unrelated streams.
+     */
+    private long chunkSeed(int chunk) {
+        return EmployeeKeys.mix(seed + (chunk + 1) * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * A version 4 UUID drawn from {@code random} rather than {@link UUID#randomUUID()}, so ids are reproducible.
+     */
+    private static UUID randomUuid(Random random) {
+        final long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long least = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(most, least);
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.server.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Rate limiting applied by {@link com.reliaquest.server.web.RandomRequestLimitInterceptor}, bound from
+ * {@code mock.rate-limit.*}. Leaving {@code requests} or {@code window} unset keeps the original behaviour of picking
+ * a random budget at startup.
+ */
+@Data
+@ConfigurationProperties(prefix = "mock.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Requests a client may make per window; a random value in [5, 10) when unset.
+     */
+    private Integer requests;
+
+    /**
+     * Window the request budget applies to; a random duration in [30s, 90s) when unset.
+     */
+    private Duration window;
+
+    /**
+     * What identifies a client.
+     */
+    private ClientKey clientKey = ClientKey.REMOTE_ADDRESS;
+
+    /**
+     * Header holding the client id when {@code client-key} is {@code header}; clients without it are keyed by
+     * remote address.
+     */
+    private String clientHeader = "X-Client-Id";
+
+    /**
+     * Whether every endpoint has its own budget per client, rather than one budget shared across endpoints.
+     */
+    private boolean perEndpoint = false;
+
+    /**
+     * Whether a request answered 304 Not Modified gives its token back, so conditional requests for an unchanged list
+     * do not count against the budget.
+     */
+    private boolean exemptNotModified = false;
+
+    /**
+     * Clients tracked per endpoint before idle ones are evicted; while none are idle, further clients share one budget.
+     */
+    private int maxClients = 10_000;
+
+    /**
+     * Budgets for individual endpoints, keyed by controller method name (for example {@code getEmployees}). Listed
+     * endpoints always get their own budget.
+     */
+    private Map<String, Limit> endpoints = new LinkedHashMap<>();
+
+    public enum ClientKey {
+        REMOTE_ADDRESS,
+        HEADER
+    }
+
+    @Data
+    public static class Limit {
+        private Integer requests;
+        private Duration window;
+    }
+}
@@ -1,59 +1,108 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.ColumnarMockEmployeeStore;
+import com.reliaquest.server.store.InMemoryMockEmployeeStore;
+import com.reliaquest.server.store.MappedMockEmployeeStore;
+import com.reliaquest.server.store.MockEmployeeChangeLog;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.store.VirtualMockEmployeeStore;
+import com.reliaquest.server.web.MockEmployeeChangeStream;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final RateLimitProperties rateLimitProperties;
+    // A fresh copy of the builder Boot configures from spring.jackson.*, so Smile is written with the same settings
+    private final Jackson2ObjectMapperBuilder jacksonBuilder;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Set mock.employees.seed to reproduce a data set, for example across benchmark runs; otherwise a random seed is
+     * picked and logged. mock.employees.mode=virtual derives employees on demand instead of holding them, for data sets
+     * too large for the heap; mock.employees.mode=mapped keeps them in files under mock.employees.path, so a restart
+     * maps the previous data set and its changes instead of generating a new one. mock.employees.mode=columnar holds
+     * the data set on the heap at a fraction of the memory of the default mode.
+     */
+    @Bean
+    public MockEmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.mode:memory}") MockEmployeeStore.Mode mode,
+            @Value("${mock.employees.path:mock-employees}") Path path) {
+        final long datasetSeed = seed != null ? seed : RandomGenerator.getDefault().nextLong();
+        final var generator = new MockEmployeeGenerator(Locale.getDefault(), datasetSeed);
+        return switch (mode) {
+            case MEMORY -> new InMemoryMockEmployeeStore(generator.generate(maxEmployees));
+            case VIRTUAL -> new VirtualMockEmployeeStore(maxEmployees, datasetSeed, Locale.getDefault());
+            case MAPPED -> new MappedMockEmployeeStore(path, () -> generator.generate(maxEmployees));
+            case COLUMNAR -> new ColumnarMockEmployeeStore(generator.generate(maxEmployees));
+        };
+    }
+
+    @Bean
+    public MockEmployeeChangeLog mockEmployeeChangeLog(
+            @Value("${mock.employees.change-log-size:10000}") int changeLogSize) {
+        return new MockEmployeeChangeLog(changeLogSize);
+    }
+
+    /*
+     * Subscribers are disconnected after mock.events.timeout and expected to reconnect with Last-Event-ID; heartbeats
+     * every mock.events.heartbeat keep idle connections open and detect clients that went away.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MockEmployeeChangeStream mockEmployeeChangeStream(
+            MockEmployeeService mockEmployeeService,
+            @Value("${mock.events.timeout:PT30M}") Duration timeout,
+            @Value("${mock.events.heartbeat:PT15S}") Duration heartbeat) {
+        return new MockEmployeeChangeStream(mockEmployeeService, timeout, heartbeat);
+    }
+
+    /*
+     * Clients that ask for application/x-jackson-smile get Smile, Jackson's binary JSON, with repeated names and short
+     * strings such as titles written once and referenced after. JSON stays ahead of it, so everyone else gets JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2SmileHttpMessageConverter.class::isInstance);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(jacksonBuilder
+                .factory(SmileFactory.builder()
+                        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                        .build())
+                .build()));
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        registry.addInterceptor(new RandomRequestLimitInterceptor(rateLimitProperties));
     }
 }
@@ -3,32 +3,170 @@ package com.reliaquest.server.controller;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.MockEmployeeChangeStream;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String END_CURSOR_HEADER = "X-End-Cursor";
+    public static final String DATASET_VERSION_HEADER = "X-Dataset-Version";
+    public static final int MAX_PAGE_SIZE = 10_000;
+    public static final int MAX_BULK_SIZE = 1_000;
+    public static final int MAX_IDS = 100;
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
     private final MockEmployeeService mockEmployeeService;
+    private final MockEmployeeChangeStream mockEmployeeChangeStream;
+    private final Validator validator;
 
+    /**
+     * Without paging parameters, returns every employee. With any of them, returns one page of at most
+     * {@code limit} employees with a cursor in {@code [cursor, end)}, oldest first; {@value #NEXT_CURSOR_HEADER}
+     * holds the cursor of the following page and {@value #END_CURSOR_HEADER} the cursor just past the newest
+     * employee, so clients can split the range and fetch it in parallel.
+     * <p>
+     * Both carry the data set version read before the employees in {@value #DATASET_VERSION_HEADER}, to follow up
+     * with {@link #getChanges}. The full list also carries it as an {@code ETag}; a request whose
+     * {@code If-None-Match} still matches it is answered 304 Not Modified without a body. JSON and Smile bodies get
+     * different tags, and the response varies by {@code Accept}, so a cache never serves one format for the other.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "end", required = false) Long end,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            WebRequest request,
+            HttpServletResponse response) {
+        if (cursor == null && end == null && limit == null) {
+            final long version = mockEmployeeService.getDatasetVersion();
+            final String format = prefersSmile(request.getHeader(HttpHeaders.ACCEPT)) ? "-smile" : "";
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            // Sets the ETag header either way, and the 304 status when it matches
+            if (request.checkNotModified("\"%x%s\"".formatted(version, format))) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .header(DATASET_VERSION_HEADER, String.valueOf(version))
+                    .body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+        }
+        if ((cursor != null && cursor < 0) || (end != null && end < 0) || (limit != null && limit < 1)) {
+            return ResponseEntity.badRequest().body(Response.error("cursor and end must be >= 0 and limit >= 1"));
+        }
+
+        final long version = mockEmployeeService.getDatasetVersion();
+        final var page = mockEmployeeService.getPage(
+                cursor == null ? 0 : cursor,
+                end == null ? Long.MAX_VALUE : end,
+                limit == null ? MAX_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE));
+        final var pageResponse = ResponseEntity.ok()
+                .header(END_CURSOR_HEADER, String.valueOf(page.endCursor()))
+                .header(DATASET_VERSION_HEADER, String.valueOf(version));
+        if (page.nextCursor() != null) {
+            pageResponse.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return pageResponse.body(Response.handledWith(page.employees()));
+    }
+
+    /**
+     * Whether content negotiation will answer {@code accept} with Smile: the most specific acceptable type that either
+     * converter can write decides, and JSON, registered first, takes wildcards.
+     */
+    private static boolean prefersSmile(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        final List<MediaType> accepted = new ArrayList<>();
+        try {
+            accepted.addAll(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(accepted);
+        } catch (IllegalArgumentException e) {
+            // Negotiation rejects the header itself, so no body is written and the tag does not matter
+            return false;
+        }
+        for (MediaType type : accepted) {
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (type.isCompatibleWith(SMILE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the employees with the given ids, at most {@value #MAX_IDS} of them, in the order asked for. Unknown ids
+     * are left out.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployeesByIds(@RequestParam("ids") List<UUID> ids) {
+        if (ids.size() > MAX_IDS) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("At most " + MAX_IDS + " employees can be looked up at once"));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.findAllById(ids)));
+    }
+
+    /**
+     * Returns the employees created and deleted after data set version {@code since}, oldest first, with the version
+     * they lead up to in {@value #DATASET_VERSION_HEADER}. Answers 410 Gone when the change log no longer reaches back
+     * to {@code since}, or it is from an earlier run; the full list has to be fetched again then.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<List<MockEmployeeChange>>> getChanges(@RequestParam("since") long since) {
+        return mockEmployeeService
+                .getChangesSince(since)
+                .map(changes -> ResponseEntity.ok()
+                        .header(
+                                DATASET_VERSION_HEADER,
+                                String.valueOf(changes.isEmpty() ? since : changes.get(changes.size() - 1).version()))
+                        .body(Response.handledWith(changes)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                        .body(Response.error(
+                                "Changes since " + since + " are no longer available, fetch all employees")));
+    }
+
+    /**
+     * Streams every create and delete as it happens, as server-sent {@value MockEmployeeChangeStream#CHANGE_EVENT}
+     * events whose id is the data set version after the change. Reconnecting with {@code Last-Event-ID} first
+     * replays the changes missed since then, or sends a {@value MockEmployeeChangeStream#RESET_EVENT} event when they
+     * are gone and the full list has to be fetched again.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return mockEmployeeChangeStream.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}")
@@ -44,8 +182,54 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /**
+     * Creates up to {@value #MAX_BULK_SIZE} employees in one request and returns them in the same order. The batch is
+     * all or nothing: if any employee is invalid, none are created, and the 400 response lists what is wrong with each
+     * one by position, {@code null} for the valid ones.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createEmployees(@RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.size() > MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("At most " + MAX_BULK_SIZE + " employees can be created at once"));
+        }
+
+        final List<String> errors = inputs.stream().map(this::validate).toList();
+        final long invalid = errors.stream().filter(Objects::nonNull).count();
+        if (invalid > 0) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error(errors, invalid + " of " + inputs.size() + " employees are invalid"));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.createAll(inputs)));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /**
+     * Deletes the employee with this id and returns it, or answers 404 Not Found if there is none.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
+    private String validate(CreateMockEmployeeInput input) {
+        if (input == null) {
+            return "must not be null";
+        }
+        final var violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
 }
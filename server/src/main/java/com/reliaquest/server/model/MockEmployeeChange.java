@@ -0,0 +1,16 @@
+package com.reliaquest.server.model;
+
+/**
+ * One write to the employee data set.
+ *
+ * @param version data set version right after the write
+ * @param type whether the employee was created or deleted
+ * @param employee the employee created, or the one deleted
+ */
+public record MockEmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * One page of employees in insertion order.
+ *
+ * @param employees employees on this page
+ * @param nextCursor cursor of the next page, or {@code null} when this is the last one
+ * @param endCursor cursor just past the newest employee at the time the page was read
+ */
+public record MockEmployeePage(List<MockEmployee> employees, Long nextCursor, long endCursor) {}
@@ -19,6 +19,10 @@ public record Response<T>(T data, Status status, String error) {
         return new Response<>(null, Status.ERROR, error);
     }
 
+    public static <T> Response<T> error(T data, String error) {
+        return new Response<>(data, Status.ERROR, error);
+    }
+
     public enum Status {
         HANDLED("Successfully processed request."),
         ERROR("Failed to process request.");
@@ -4,15 +4,20 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.store.MockEmployeeChangeLog;
+import com.reliaquest.server.store.MockEmployeeStore;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -21,15 +26,57 @@ import org.springframework.stereotype.Service;
 public class MockEmployeeService {
 
     private final Faker faker;
+    private final MockEmployeeStore mockEmployeeStore;
+    private final MockEmployeeChangeLog mockEmployeeChangeLog;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    // Random bits 40-62 of every data set version: a store's version starts over on every start, and these keep
+    // versions from different runs apart
+    private final long epoch = (RandomGenerator.getDefault().nextLong() >>> 41) << 40;
+    // Keeps each write, its change log entry and its event together, so changes are logged and published in order
+    private final Object writeLock = new Object();
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.getAll();
+    }
+
+    /**
+     * Returns the data set version, which changes whenever an employee is created or deleted. Read it before the
+     * employees: they are then never older than the version.
+     */
+    public long getDatasetVersion() {
+        return epoch | mockEmployeeStore.version();
+    }
+
+    /**
+     * Returns the changes after data set version {@code version}, oldest first, or nothing when the change log no
+     * longer reaches back that far or the version is from another run.
+     */
+    public Optional<List<MockEmployeeChange>> getChangesSince(long version) {
+        synchronized (writeLock) {
+            return mockEmployeeChangeLog.since(version, getDatasetVersion());
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} employees with a cursor in {@code [cursor, end)}, oldest first.
+     */
+    public MockEmployeePage getPage(long cursor, long end, int limit) {
+        return mockEmployeeStore.getPage(cursor, end, limit);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
+    }
+
+    /**
+     * Returns the employees with the given ids in the same order, leaving out unknown and repeated ids.
+     */
+    public List<MockEmployee> findAllById(@NonNull List<UUID> uuids) {
+        return uuids.stream()
+                .distinct()
+                .map(mockEmployeeStore::findById)
+                .flatMap(Optional::stream)
+                .toList();
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +84,58 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        synchronized (writeLock) {
+            final long previousVersion = getDatasetVersion();
+            mockEmployeeStore.add(mockEmployee);
+            record(previousVersion, MockEmployeeChange.Type.CREATED, mockEmployee);
+        }
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Creates every employee in {@code inputs} as one write, so their changes are logged and published back to back.
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final List<MockEmployee> mockEmployees = inputs.stream()
+                .map(input -> MockEmployee.from(
+                        ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                                faker.twitter().userName().toLowerCase()),
+                        input))
+                .toList();
+        synchronized (writeLock) {
+            for (MockEmployee mockEmployee : mockEmployees) {
+                final long previousVersion = getDatasetVersion();
+                mockEmployeeStore.add(mockEmployee);
+                record(previousVersion, MockEmployeeChange.Type.CREATED, mockEmployee);
+            }
+        }
+        log.debug("Added {} employees", mockEmployees.size());
+        return mockEmployees;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        return remove(() -> mockEmployeeStore.removeByName(input.getName())).isPresent();
+    }
+
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        return remove(() -> mockEmployeeStore.removeById(uuid));
+    }
+
+    private Optional<MockEmployee> remove(Supplier<Optional<MockEmployee>> removal) {
+        final Optional<MockEmployee> mockEmployee;
+        synchronized (writeLock) {
+            final long previousVersion = getDatasetVersion();
+            mockEmployee = removal.get();
+            mockEmployee.ifPresent(employee -> record(previousVersion, MockEmployeeChange.Type.DELETED, employee));
         }
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee;
+    }
 
-        return false;
+    private void record(long previousVersion, MockEmployeeChange.Type type, MockEmployee employee) {
+        final var change = new MockEmployeeChange(getDatasetVersion(), type, employee);
+        mockEmployeeChangeLog.append(previousVersion, change);
+        applicationEventPublisher.publishEvent(change);
     }
 }
@@ -0,0 +1,462 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * {@link MockEmployeeStore} keeping employees as columns of primitives rather than as objects.
+ * <p>
+ * Each field is an array indexed by row: ids as two {@code long[]}, salary and age as {@code int[]}, titles as ids
+ * into a dictionary, and names and emails as offset and length into one shared {@code char[]}. Rows are appended in
+ * sequence order and flagged in a bitset when deleted. Ids and case-folded names are found through open-addressing
+ * hash tables of row numbers, so the store holds no per-employee objects at all. {@link MockEmployee}s are only
+ * built when a row is read, typically while a response is being written.
+ * <p>
+ * Writes are serialised. Reads are lock-free: a row is written before the row count that makes it visible, and
+ * growing or compacting the columns publishes a new copy, leaving readers of the old one a consistent view. Deleted
+ * rows are dropped by compaction once they outnumber live ones; compaction keeps sequences, so page cursors stay
+ * valid.
+ */
+public class ColumnarMockEmployeeStore implements MockEmployeeStore {
+
+    private static final int MISSING = Integer.MIN_VALUE;
+    private static final int INITIAL_ROWS = 1024;
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private volatile Columns columns;
+    private volatile String[] titles = new String[16];
+    // Writer-only side of the title dictionary
+    private final Map<String, Integer> titleIds = new HashMap<>();
+    // Sequence of the next employee; only advanced once the employee is visible, so it is a safe end cursor
+    private volatile long nextSequence;
+    // Bumped after every write; a snapshot is only served while it matches
+    private volatile long version;
+    private volatile Snapshot snapshot = new Snapshot(-1, List.of());
+
+    public ColumnarMockEmployeeStore(List<MockEmployee> initialEmployees) {
+        columns = new Columns(Math.max(INITIAL_ROWS, initialEmployees.size()), INITIAL_ROWS * 16);
+        initialEmployees.forEach(this::add);
+    }
+
+    /**
+     * Returns every employee in insertion order as a view that builds each {@link MockEmployee} when it is read.
+     */
+    @Override
+    public List<MockEmployee> getAll() {
+        final Snapshot existing = snapshot;
+        final long observed = version;
+        if (existing.version() == observed) {
+            return existing.employees();
+        }
+        final Columns current = columns;
+        final int count = current.count;
+        final int[] rows = new int[count];
+        int live = 0;
+        for (int row = 0; row < count; row++) {
+            if (!current.isDeleted(row)) {
+                rows[live++] = row;
+            }
+        }
+        final List<MockEmployee> employees = new RowView(current, titles, rows, live);
+        // A write during the scan leaves the snapshot tagged with an old version, so the next read rebuilds it
+        snapshot = new Snapshot(observed, employees);
+        return employees;
+    }
+
+    @Override
+    public int size() {
+        return columns.live;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        final Columns current = columns;
+        final int row = current.rowOfId(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return row < 0 ? Optional.empty() : Optional.of(current.read(row, titles));
+    }
+
+    @Override
+    public MockEmployeePage getPage(long cursor, long end, int limit) {
+        final long endCursor = nextSequence;
+        final Columns current = columns;
+        final int count = current.count;
+        final String[] dictionary = titles;
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        for (int row = current.rowOfSequence(cursor, count); row < count; row++) {
+            final long sequence = current.sequences[row];
+            if (sequence >= end) {
+                break;
+            }
+            if (current.isDeleted(row)) {
+                continue;
+            }
+            if (employees.size() == limit) {
+                return new MockEmployeePage(employees, sequence, endCursor);
+            }
+            employees.add(current.read(row, dictionary));
+        }
+        return new MockEmployeePage(employees, null, endCursor);
+    }
+
+    @Override
+    public synchronized void add(@NonNull MockEmployee employee) {
+        Columns current = columns;
+        final UUID id = employee.getId();
+        final int previous = current.rowOfId(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (previous >= 0) {
+            current.delete(previous);
+        }
+        if (current.count == current.capacity()) {
+            current = current.copy(current.capacity() * 2, false);
+            columns = current;
+        }
+        final long sequence = nextSequence;
+        current.append(employee, sequence, titleId(employee.getTitle()));
+        nextSequence = sequence + 1;
+        version++;
+    }
+
+    /**
+     * Removes the oldest employee whose name matches {@code name} ignoring case.
+     */
+    @Override
+    public synchronized Optional<MockEmployee> removeByName(@NonNull String name) {
+        final Columns current = columns;
+        return remove(current, current.oldestRowNamed(EmployeeKeys.fold(name)));
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> removeById(@NonNull UUID id) {
+        final Columns current = columns;
+        return remove(current, current.rowOfId(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+    }
+
+    private Optional<MockEmployee> remove(Columns current, int row) {
+        if (row < 0) {
+            return Optional.empty();
+        }
+        final MockEmployee employee = current.read(row, titles);
+        current.delete(row);
+        version++;
+        if (current.count - current.live >= COMPACTION_THRESHOLD && current.count - current.live > current.live) {
+            columns = current.copy(Math.max(INITIAL_ROWS, current.live * 2), true);
+        }
+        return Optional.of(employee);
+    }
+
+    private int titleId(String title) {
+        if (title == null) {
+            return MISSING;
+        }
+        final Integer existing = titleIds.get(title);
+        if (existing != null) {
+            return existing;
+        }
+        final int id = titleIds.size();
+        String[] dictionary = titles;
+        if (id == dictionary.length) {
+            dictionary = Arrays.copyOf(dictionary, id * 2);
+        }
+        dictionary[id] = title;
+        // Published before the row that uses it
+        titles = dictionary;
+        titleIds.put(title, id);
+        return id;
+    }
+
+    /**
+     * The columns for up to {@code capacity()} rows, with their hash tables. The tables have at least twice as many
+     * entries as there are rows, and every row takes at most one entry in each, so they never need to grow on their
+     * own.
+     */
+    private static final class Columns {
+        // Table entries hold row + 1, so a zeroed entry is empty
+        private static final int EMPTY = 0;
+        private static final int REMOVED = -1;
+
+        private final long[] sequences;
+        private final long[] idMost;
+        private final long[] idLeast;
+        private final int[] salaries;
+        private final int[] ages;
+        private final int[] titleIds;
+        private final int[] nameHashes;
+        private final int[] nameStarts;
+        private final int[] nameLengths;
+        private final int[] emailStarts;
+        private final int[] emailLengths;
+        private final long[] deleted;
+        private final int[] idTable;
+        private final int[] nameTable;
+        private volatile char[] chars;
+        private int charsEnd;
+        private volatile int count;
+        private volatile int live;
+
+        Columns(int capacity, int initialChars) {
+            sequences = new long[capacity];
+            idMost = new long[capacity];
+            idLeast = new long[capacity];
+            salaries = new int[capacity];
+            ages = new int[capacity];
+            titleIds = new int[capacity];
+            nameHashes = new int[capacity];
+            nameStarts = new int[capacity];
+            nameLengths = new int[capacity];
+            emailStarts = new int[capacity];
+            emailLengths = new int[capacity];
+            deleted = new long[(capacity + 63) >>> 6];
+            final int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+            idTable = new int[tableSize];
+            nameTable = new int[tableSize];
+            chars = new char[initialChars];
+        }
+
+        int capacity() {
+            return sequences.length;
+        }
+
+        void append(MockEmployee employee, long sequence, int titleId) {
+            final int row = count;
+            sequences[row] = sequence;
+            idMost[row] = employee.getId().getMostSignificantBits();
+            idLeast[row] = employee.getId().getLeastSignificantBits();
+            salaries[row] = employee.getSalary() == null ? MISSING : employee.getSalary();
+            ages[row] = employee.getAge() == null ? MISSING : employee.getAge();
+            titleIds[row] = titleId;
+            nameStarts[row] = appendChars(employee.getName());
+            nameLengths[row] = employee.getName() == null ? -1 : employee.getName().length();
+            emailStarts[row] = appendChars(employee.getEmail());
+            emailLengths[row] = employee.getEmail() == null ? -1 : employee.getEmail().length();
+            index(row, employee.getName() == null ? null : EmployeeKeys.fold(employee.getName()));
+            count = row + 1;
+            live++;
+        }
+
+        void delete(int row) {
+            deleted[row >>> 6] |= 1L << row;
+            remove(idTable, idHome(idMost[row], idLeast[row]), row);
+            if (nameLengths[row] >= 0) {
+                remove(nameTable, nameHome(nameHashes[row]), row);
+            }
+            live--;
+        }
+
+        boolean isDeleted(int row) {
+            return (deleted[row >>> 6] & (1L << row)) != 0;
+        }
+
+        /**
+         * Returns the row of the live employee with this id, or -1.
+         */
+        int rowOfId(long most, long least) {
+            final int published = count;
+            final int mask = idTable.length - 1;
+            for (int entry = idHome(most, least); ; entry = (entry + 1) & mask) {
+                final int value = idTable[entry];
+                if (value == EMPTY) {
+                    return -1;
+                }
+                final int row = value - 1;
+                if (value != REMOVED
+                        && row < published
+                        && idMost[row] == most
+                        && idLeast[row] == least
+                        && !isDeleted(row)) {
+                    return row;
+                }
+            }
+        }
+
+        /**
+         * Returns the lowest live row whose folded name is {@code folded}, or -1.
+         */
+        int oldestRowNamed(String folded) {
+            final int published = count;
+            final int hash = folded.hashCode();
+            final int mask = nameTable.length - 1;
+            int found = -1;
+            for (int entry = nameHome(hash); ; entry = (entry + 1) & mask) {
+                final int value = nameTable[entry];
+                if (value == EMPTY) {
+                    return found;
+                }
+                final int row = value - 1;
+                if (value != REMOVED
+                        && row < published
+                        && (found < 0 || row < found)
+                        && nameHashes[row] == hash
+                        && !isDeleted(row)
+                        && folded.equals(EmployeeKeys.fold(string(nameStarts[row], nameLengths[row])))) {
+                    found = row;
+                }
+            }
+        }
+
+        /**
+         * Returns the first row below {@code count} whose sequence is at least {@code sequence}.
+         */
+        int rowOfSequence(long sequence, int count) {
+            final int row = Arrays.binarySearch(sequences, 0, count, sequence);
+            return row >= 0 ? row : -row - 1;
+        }
+
+        MockEmployee read(int row, String[] dictionary) {
+            return MockEmployee.builder()
+                    .id(new UUID(idMost[row], idLeast[row]))
+                    .name(string(nameStarts[row], nameLengths[row]))
+                    .salary(salaries[row] == MISSING ? null : salaries[row])
+                    .age(ages[row] == MISSING ? null : ages[row])
+                    .title(titleIds[row] == MISSING ? null : dictionary[titleIds[row]])
+                    .email(string(emailStarts[row], emailLengths[row]))
+                    .build();
+        }
+
+        /**
+         * Copies the rows into columns for {@code capacity} rows, leaving out deleted rows and their characters when
+         * {@code dropDeleted} is set.
+         */
+        Columns copy(int capacity, boolean dropDeleted) {
+            final var copy = new Columns(capacity, dropDeleted ? Math.max(16, charsEnd / 2) : chars.length);
+            if (!dropDeleted) {
+                System.arraycopy(chars, 0, copy.chars, 0, charsEnd);
+                copy.charsEnd = charsEnd;
+            }
+            for (int row = 0; row < count; row++) {
+                if (dropDeleted && isDeleted(row)) {
+                    continue;
+                }
+                final int target = copy.count;
+                copy.sequences[target] = sequences[row];
+                copy.idMost[target] = idMost[row];
+                copy.idLeast[target] = idLeast[row];
+                copy.salaries[target] = salaries[row];
+                copy.ages[target] = ages[row];
+                copy.titleIds[target] = titleIds[row];
+                if (dropDeleted) {
+                    copy.nameStarts[target] = copy.appendChars(string(nameStarts[row], nameLengths[row]));
+                    copy.emailStarts[target] = copy.appendChars(string(emailStarts[row], emailLengths[row]));
+                } else {
+                    copy.nameStarts[target] = nameStarts[row];
+                    copy.emailStarts[target] = emailStarts[row];
+                }
+                copy.nameLengths[target] = nameLengths[row];
+                copy.emailLengths[target] = emailLengths[row];
+                if (isDeleted(row)) {
+                    copy.deleted[target >>> 6] |= 1L << target;
+                } else {
+                    copy.nameHashes[target] = nameHashes[row];
+                    copy.idTable[copy.free(copy.idTable, copy.idHome(idMost[row], idLeast[row]))] = target + 1;
+                    if (nameLengths[row] >= 0) {
+                        copy.nameTable[copy.free(copy.nameTable, copy.nameHome(nameHashes[row]))] = target + 1;
+                    }
+                    copy.live++;
+                }
+                copy.count = target + 1;
+            }
+            return copy;
+        }
+
+        private void index(int row, String foldedName) {
+            idTable[free(idTable, idHome(idMost[row], idLeast[row]))] = row + 1;
+            if (foldedName != null) {
+                nameHashes[row] = foldedName.hashCode();
+                nameTable[free(nameTable, nameHome(nameHashes[row]))] = row + 1;
+            }
+        }
+
+        private int free(int[] table, int home) {
+            final int mask = table.length - 1;
+            int entry = home;
+            while (table[entry] != EMPTY && table[entry] != REMOVED) {
+                entry = (entry + 1) & mask;
+            }
+            return entry;
+        }
+
+        private void remove(int[] table, int home, int row) {
+            final int mask = table.length - 1;
+            for (int entry = home; table[entry] != EMPTY; entry = (entry + 1) & mask) {
+                if (table[entry] == row + 1) {
+                    table[entry] = REMOVED;
+                    return;
+                }
+            }
+        }
+
+        private int appendChars(String value) {
+            if (value == null) {
+                return 0;
+            }
+            char[] buffer = chars;
+            final int start = charsEnd;
+            if (start + value.length() > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, start + value.length()));
+            }
+            value.getChars(0, value.length(), buffer, start);
+            charsEnd = start + value.length();
+            // Published before the row that points into it
+            chars = buffer;
+            return start;
+        }
+
+        private String string(int start, int length) {
+            return length < 0 ? null : new String(chars, start, length);
+        }
+
+        private int idHome(long most, long least) {
+            return (int) EmployeeKeys.mix(most ^ Long.rotateLeft(least, 32)) & (idTable.length - 1);
+        }
+
+        private int nameHome(int hash) {
+            return (int) EmployeeKeys.mix(hash) & (nameTable.length - 1);
+        }
+    }
+
+    /**
+     * Immutable view of the rows live when it was taken.
+     */
+    private static final class RowView extends AbstractList<MockEmployee> implements RandomAccess {
+        private final Columns columns;
+        private final String[] dictionary;
+        private final int[] rows;
+        private final int size;
+
+        RowView(Columns columns, String[] dictionary, int[] rows, int size) {
+            this.columns = columns;
+            this.dictionary = dictionary;
+            this.rows = rows;
+            this.size = size;
+        }
+
+        @Override
+        public MockEmployee get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return columns.read(rows[index], dictionary);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private record Snapshot(long version, List<MockEmployee> employees) {}
+}
@@ -0,0 +1,28 @@
+package com.reliaquest.server.store;
+
+/**
+ * Keys shared by the stores' name and id indexes.
+ */
+public final class EmployeeKeys {
+
+    private EmployeeKeys() {}
+
+    /**
+     * Folds case character by character the way {@link String#equalsIgnoreCase} compares it, so a name index finds
+     * exactly what a linear {@code equalsIgnoreCase} scan would.
+     */
+    static String fold(String name) {
+        final var folded = new StringBuilder(name.length());
+        name.codePoints().forEach(c -> folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c))));
+        return folded.toString();
+    }
+
+    /**
+     * SplitMix64 finaliser, spreading keys over hash tables and seeds over streams.
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,143 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import lombok.NonNull;
+
+/**
+ * Thread-safe, indexed {@link MockEmployeeStore} holding every employee on the heap.
+ * <p>
+ * Every employee gets an insertion sequence that is never reused and is indexed three ways: by id, by case-folded
+ * name, and by sequence for ordered reads and paging. Reads are lock-free; writes are serialised so the three
+ * indexes change together. Full-list reads are served from an immutable snapshot that is rebuilt lazily after a
+ * write, so repeated reads of an unchanged store cost nothing.
+ */
+public class InMemoryMockEmployeeStore implements MockEmployeeStore {
+
+    private final ConcurrentHashMap<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, NavigableSet<Long>> sequencesByName = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, MockEmployee> bySequence = new ConcurrentSkipListMap<>();
+
+    // Sequence of the next employee; only advanced once the employee is visible, so it is a safe end cursor
+    private volatile long nextSequence;
+    // Bumped after every write; a snapshot is only served while it matches
+    private volatile long version;
+    private volatile Snapshot snapshot = new Snapshot(-1, List.of());
+
+    public InMemoryMockEmployeeStore(List<MockEmployee> initialEmployees) {
+        initialEmployees.forEach(this::add);
+    }
+
+    @Override
+    public List<MockEmployee> getAll() {
+        final Snapshot current = snapshot;
+        final long observed = version;
+        if (current.version() == observed) {
+            return current.employees();
+        }
+        final List<MockEmployee> employees = List.copyOf(bySequence.values());
+        // A write during the copy leaves the snapshot tagged with an old version, so the next read rebuilds it
+        snapshot = new Snapshot(observed, employees);
+        return employees;
+    }
+
+    @Override
+    public int size() {
+        return bySequence.size();
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return Optional.ofNullable(byId.get(id)).map(Entry::employee);
+    }
+
+    @Override
+    public MockEmployeePage getPage(long cursor, long end, int limit) {
+        final long endCursor = nextSequence;
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        Long nextCursor = null;
+        for (Map.Entry<Long, MockEmployee> entry :
+                bySequence.subMap(cursor, true, end, false).entrySet()) {
+            if (employees.size() == limit) {
+                nextCursor = entry.getKey();
+                break;
+            }
+            employees.add(entry.getValue());
+        }
+        return new MockEmployeePage(employees, nextCursor, endCursor);
+    }
+
+    @Override
+    public synchronized void add(@NonNull MockEmployee employee) {
+        final long sequence = nextSequence;
+        final Entry previous = byId.put(employee.getId(), new Entry(sequence, employee));
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (employee.getName() != null) {
+            sequencesByName
+                    .computeIfAbsent(EmployeeKeys.fold(employee.getName()), ignored -> new ConcurrentSkipListSet<>())
+                    .add(sequence);
+        }
+        bySequence.put(sequence, employee);
+        nextSequence = sequence + 1;
+        version++;
+    }
+
+    /**
+     * Removes the oldest employee whose name matches {@code name} ignoring case.
+     */
+    @Override
+    public synchronized Optional<MockEmployee> removeByName(@NonNull String name) {
+        final NavigableSet<Long> sequences = sequencesByName.get(EmployeeKeys.fold(name));
+        if (sequences == null || sequences.isEmpty()) {
+            return Optional.empty();
+        }
+        final MockEmployee employee = bySequence.get(sequences.first());
+        byId.remove(employee.getId());
+        unindex(new Entry(sequences.first(), employee));
+        version++;
+        return Optional.of(employee);
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> removeById(@NonNull UUID id) {
+        final Entry entry = byId.remove(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        unindex(entry);
+        version++;
+        return Optional.of(entry.employee());
+    }
+
+    private void unindex(Entry entry) {
+        bySequence.remove(entry.sequence());
+        final String name = entry.employee().getName();
+        if (name != null) {
+            sequencesByName.computeIfPresent(EmployeeKeys.fold(name), (key, sequences) -> {
+                sequences.remove(entry.sequence());
+                return sequences.isEmpty() ? null : sequences;
+            });
+        }
+    }
+
+    private record Entry(long sequence, MockEmployee employee) {}
+
+    private record Snapshot(long version, List<MockEmployee> employees) {}
+}
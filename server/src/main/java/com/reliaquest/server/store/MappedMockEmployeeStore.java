@@ -0,0 +1,807 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link MockEmployeeStore} persisted in memory-mapped files, so employees and their changes survive a restart.
+ * <p>
+ * {@code employees.dat} holds a header followed by fixed-width records, one per employee, in sequence order. String
+ * fields live in an append-only heap file that records point into by offset and length, and two mapped hash tables
+ * find records by id and by case-folded name. Creates append a record, deletes set a flag on it in place, and both
+ * update the tables and the header, so the page cache carries every change to disk without an explicit write. A
+ * restart only maps the files: nothing is scanned or generated unless the directory holds no store yet.
+ * <p>
+ * The hash tables are hints: every hit is checked against its record, so a table entry left behind by a crash can
+ * never return the wrong employee. Records become visible through the header count, which is written last.
+ * <p>
+ * Deleted records and their strings stay in the files until {@link #compact()} copies the live ones to a new
+ * generation of files. Compaction keeps sequences, so page cursors stay valid, and runs by itself once deleted
+ * records outnumber live ones. A new generation becomes current with an atomic rename of {@code employees.dat}, so a
+ * crash leaves either the old generation or the new one.
+ * <p>
+ * Writes are serialised. Reads are lock-free and read the generation current when they start.
+ */
+@Slf4j
+public class MappedMockEmployeeStore implements MockEmployeeStore, Closeable {
+
+    private static final String RECORDS_FILE = "employees.dat";
+    private static final String STRINGS_FILE = "strings-%d.dat";
+    private static final String IDS_FILE = "ids-%d.dat";
+    private static final String NAMES_FILE = "names-%d.dat";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final Pattern GENERATION_FILE = Pattern.compile("(?:strings|ids|names)-(\\d+)\\.dat");
+    private static final int MAGIC = 0x4D4F434B;
+    private static final int FORMAT = 1;
+
+    // Record layout; the header takes the place of record -1
+    private static final int RECORD_SIZE = 72;
+    private static final int FLAGS = 0;
+    private static final int AGE = 4;
+    private static final int SALARY = 8;
+    private static final int NAME_LENGTH = 12;
+    private static final int SEQUENCE = 16;
+    private static final int ID_MOST = 24;
+    private static final int ID_LEAST = 32;
+    private static final int NAME = 40;
+    private static final int TITLE = 48;
+    private static final int EMAIL = 56;
+    private static final int TITLE_LENGTH = 64;
+    private static final int EMAIL_LENGTH = 68;
+
+    private static final int DELETED = 1;
+    private static final int NO_AGE = 2;
+    private static final int NO_SALARY = 4;
+
+    // Header layout
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_FORMAT = 4;
+    private static final int HEADER_COUNT = 8;
+    private static final int HEADER_STRINGS_END = 16;
+    private static final int HEADER_NEXT_SEQUENCE = 24;
+    private static final int HEADER_GENERATION = 32;
+    private static final int HEADER_LIVE = 40;
+
+    // Record segments hold a whole number of records; a string never spans two string segments
+    private static final long RECORD_SEGMENT_SIZE = (long) RECORD_SIZE << 20;
+    private static final long STRING_SEGMENT_SIZE = 1L << 26;
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private final Path directory;
+    private volatile Generation current;
+    // Bumped after every write; a snapshot is only served while it matches
+    private volatile long version;
+    private volatile Snapshot snapshot = new Snapshot(-1, List.of());
+
+    /**
+     * Opens the store in {@code directory}, filling it from {@code initialEmployees} if it holds no store yet.
+     */
+    public MappedMockEmployeeStore(Path directory, Supplier<List<MockEmployee>> initialEmployees) {
+        this.directory = directory;
+        final long started = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            final Path records = directory.resolve(RECORDS_FILE);
+            if (Files.exists(records)) {
+                current = Generation.open(directory, records);
+                log.info(
+                        "Mapped {} employees from {} in {} ms",
+                        size(),
+                        directory.toAbsolutePath(),
+                        (System.nanoTime() - started) / 1_000_000);
+            } else {
+                final List<MockEmployee> employees = initialEmployees.get();
+                current = Generation.create(directory, records, 0, employees.size());
+                employees.forEach(this::add);
+                log.info("Created a store of {} employees in {}", size(), directory.toAbsolutePath());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the employee store in " + directory, e);
+        }
+        deleteStaleFiles();
+        compactIfSparse();
+    }
+
+    @Override
+    public List<MockEmployee> getAll() {
+        final Snapshot existing = snapshot;
+        final long observed = version;
+        if (existing.version() == observed) {
+            return existing.employees();
+        }
+        final Generation generation = current;
+        final var employees = new ArrayList<MockEmployee>(size());
+        for (long slot = 0, count = generation.count; slot < count; slot++) {
+            if (!generation.isDeleted(slot)) {
+                employees.add(generation.read(slot));
+            }
+        }
+        // A write during the scan leaves the snapshot tagged with an old version, so the next read rebuilds it
+        final List<MockEmployee> copy = List.copyOf(employees);
+        snapshot = new Snapshot(observed, copy);
+        return copy;
+    }
+
+    @Override
+    public int size() {
+        return (int) current.live;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        final Generation generation = current;
+        final long slot = generation.slotOfId(id);
+        return slot < 0 ? Optional.empty() : Optional.of(generation.read(slot));
+    }
+
+    @Override
+    public MockEmployeePage getPage(long cursor, long end, int limit) {
+        final Generation generation = current;
+        // nextSequence only moves once its record is counted, so read it first
+        final long endCursor = generation.nextSequence;
+        final long count = generation.count;
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        for (long slot = generation.slotOfSequence(cursor); slot < count; slot++) {
+            final long sequence = generation.sequence(slot);
+            if (sequence >= end) {
+                break;
+            }
+            if (generation.isDeleted(slot)) {
+                continue;
+            }
+            if (employees.size() == limit) {
+                return new MockEmployeePage(employees, sequence, endCursor);
+            }
+            employees.add(generation.read(slot));
+        }
+        return new MockEmployeePage(employees, null, endCursor);
+    }
+
+    @Override
+    public synchronized void add(@NonNull MockEmployee employee) {
+        final Generation generation = current;
+        final long previous = generation.slotOfId(employee.getId());
+        if (previous >= 0) {
+            generation.markDeleted(previous);
+        }
+        generation.append(employee, generation.nextSequence);
+        version++;
+    }
+
+    /**
+     * Removes the oldest employee whose name matches {@code name} ignoring case.
+     */
+    @Override
+    public synchronized Optional<MockEmployee> removeByName(@NonNull String name) {
+        final Generation generation = current;
+        return remove(generation, generation.oldestSlotNamed(EmployeeKeys.fold(name)));
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> removeById(@NonNull UUID id) {
+        final Generation generation = current;
+        return remove(generation, generation.slotOfId(id));
+    }
+
+    private Optional<MockEmployee> remove(Generation generation, long slot) {
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        final MockEmployee employee = generation.read(slot);
+        generation.markDeleted(slot);
+        version++;
+        compactIfSparse();
+        return Optional.of(employee);
+    }
+
+    /**
+     * Copies the live employees to a new generation of files and switches to it, dropping deleted records and the
+     * strings only they used.
+     */
+    public synchronized void compact() {
+        final Generation old = current;
+        final long started = System.nanoTime();
+        final Path temporary = directory.resolve(RECORDS_FILE + TEMPORARY_SUFFIX);
+        try {
+            Files.deleteIfExists(temporary);
+            final Generation compacted = Generation.create(directory, temporary, old.generation + 1, old.live);
+            for (long slot = 0; slot < old.count; slot++) {
+                if (!old.isDeleted(slot)) {
+                    compacted.append(old.read(slot), old.sequence(slot));
+                }
+            }
+            compacted.setNextSequence(old.nextSequence);
+            compacted.force();
+            Files.move(
+                    temporary,
+                    directory.resolve(RECORDS_FILE),
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            current = compacted;
+            log.info(
+                    "Compacted {} records to {} in {} ms",
+                    old.count,
+                    compacted.count,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compact the employee store in " + directory, e);
+        }
+        // Readers still on the old generation keep their mapping; the files themselves can go
+        old.closeQuietly();
+        deleteStaleFiles();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        current.close();
+    }
+
+    private synchronized void compactIfSparse() {
+        final long deleted = current.count - current.live;
+        if (deleted >= COMPACTION_THRESHOLD && deleted > current.live) {
+            compact();
+        }
+    }
+
+    private synchronized void deleteStaleFiles() {
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                final String name = file.getFileName().toString();
+                final Matcher matcher = GENERATION_FILE.matcher(name);
+                if (name.endsWith(TEMPORARY_SUFFIX)
+                        || matcher.matches() && Long.parseLong(matcher.group(1)) != current.generation) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cannot remove stale files from {}", directory, e);
+        }
+    }
+
+    /**
+     * One records file with the string heap and hash tables that go with it. Only the writer changes it;
+     * {@code count} is published after the record and its table entries, so a reader never sees a record before it
+     * is complete.
+     */
+    private static final class Generation {
+        private final Path directory;
+        private final MappedFile records;
+        private final MappedFile strings;
+        private final long generation;
+        private volatile HashIndex ids;
+        private volatile HashIndex names;
+        private volatile long count;
+        private volatile long live;
+        private volatile long nextSequence;
+        private long stringsEnd;
+
+        private Generation(Path directory, MappedFile records, MappedFile strings, long generation) {
+            this.directory = directory;
+            this.records = records;
+            this.strings = strings;
+            this.generation = generation;
+        }
+
+        static Generation create(Path directory, Path recordsFile, long generation, long expected)
+                throws IOException {
+            final Path stringsFile = directory.resolve(STRINGS_FILE.formatted(generation));
+            Files.deleteIfExists(stringsFile);
+            final var created = new Generation(
+                    directory,
+                    new MappedFile(recordsFile, RECORD_SEGMENT_SIZE),
+                    new MappedFile(stringsFile, STRING_SEGMENT_SIZE),
+                    generation);
+            created.ids = HashIndex.create(directory.resolve(IDS_FILE.formatted(generation)), expected);
+            created.names = HashIndex.create(directory.resolve(NAMES_FILE.formatted(generation)), expected);
+            created.records.putInt(HEADER_MAGIC, MAGIC);
+            created.records.putInt(HEADER_FORMAT, FORMAT);
+            created.records.putLong(HEADER_GENERATION, generation);
+            created.writeHeader();
+            return created;
+        }
+
+        static Generation open(Path directory, Path recordsFile) throws IOException {
+            final var records = new MappedFile(recordsFile, RECORD_SEGMENT_SIZE);
+            if (records.getInt(HEADER_MAGIC) != MAGIC || records.getInt(HEADER_FORMAT) != FORMAT) {
+                records.close();
+                throw new IOException(recordsFile + " is not an employee store of format " + FORMAT);
+            }
+            final long generation = records.getLong(HEADER_GENERATION);
+            final var opened = new Generation(
+                    directory,
+                    records,
+                    new MappedFile(directory.resolve(STRINGS_FILE.formatted(generation)), STRING_SEGMENT_SIZE),
+                    generation);
+            opened.count = records.getLong(HEADER_COUNT);
+            opened.live = records.getLong(HEADER_LIVE);
+            opened.nextSequence = records.getLong(HEADER_NEXT_SEQUENCE);
+            opened.stringsEnd = records.getLong(HEADER_STRINGS_END);
+            opened.records.ensureCapacity(position(opened.count));
+            opened.strings.ensureCapacity(opened.stringsEnd);
+            opened.ids = HashIndex.open(directory.resolve(IDS_FILE.formatted(generation)));
+            opened.names = HashIndex.open(directory.resolve(NAMES_FILE.formatted(generation)));
+            if (opened.ids == null || opened.names == null) {
+                opened.rebuildIndexes();
+            }
+            return opened;
+        }
+
+        void append(MockEmployee employee, long sequence) {
+            final long slot = count;
+            final long position = position(slot + 1);
+            try {
+                records.ensureCapacity(position + RECORD_SIZE);
+                if (ids.isFull()) {
+                    ids = ids.grow();
+                }
+                if (names.isFull()) {
+                    names = names.grow();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            records.putInt(
+                    position + FLAGS,
+                    (employee.getAge() == null ? NO_AGE : 0) | (employee.getSalary() == null ? NO_SALARY : 0));
+            records.putInt(position + AGE, employee.getAge() == null ? 0 : employee.getAge());
+            records.putInt(position + SALARY, employee.getSalary() == null ? 0 : employee.getSalary());
+            records.putLong(position + SEQUENCE, sequence);
+            records.putLong(position + ID_MOST, employee.getId().getMostSignificantBits());
+            records.putLong(position + ID_LEAST, employee.getId().getLeastSignificantBits());
+            writeString(position + NAME, position + NAME_LENGTH, employee.getName());
+            writeString(position + TITLE, position + TITLE_LENGTH, employee.getTitle());
+            writeString(position + EMAIL, position + EMAIL_LENGTH, employee.getEmail());
+            index(slot, employee.getId(), employee.getName());
+            count = slot + 1;
+            live++;
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            writeHeader();
+        }
+
+        void markDeleted(long slot) {
+            final long position = position(slot + 1) + FLAGS;
+            records.putInt(position, records.getInt(position) | DELETED);
+            final UUID id = id(slot);
+            ids.remove(id.getMostSignificantBits(), id.getLeastSignificantBits(), slot);
+            final String name = name(slot);
+            if (name != null) {
+                names.remove(nameKey(EmployeeKeys.fold(name)), 0, slot);
+            }
+            live--;
+            writeHeader();
+        }
+
+        void setNextSequence(long sequence) {
+            nextSequence = sequence;
+            writeHeader();
+        }
+
+        /**
+         * Returns the slot of the live employee with this id, or -1.
+         */
+        long slotOfId(UUID id) {
+            final long published = count;
+            return ids.find(
+                    id.getMostSignificantBits(),
+                    id.getLeastSignificantBits(),
+                    slot -> slot < published && !isDeleted(slot) && id(slot).equals(id),
+                    false);
+        }
+
+        /**
+         * Returns the lowest slot of a live employee whose folded name is {@code folded}, or -1.
+         */
+        long oldestSlotNamed(String folded) {
+            final long published = count;
+            return names.find(
+                    nameKey(folded),
+                    0,
+                    slot -> slot < published && !isDeleted(slot) && folded.equals(EmployeeKeys.fold(name(slot))),
+                    true);
+        }
+
+        /**
+         * Returns the first slot whose sequence is at least {@code sequence}; sequences increase with slots.
+         */
+        long slotOfSequence(long sequence) {
+            long low = 0;
+            long high = count;
+            while (low < high) {
+                final long middle = (low + high) >>> 1;
+                if (sequence(middle) < sequence) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        MockEmployee read(long slot) {
+            final long position = position(slot + 1);
+            final int flags = records.getInt(position + FLAGS);
+            return MockEmployee.builder()
+                    .id(id(slot))
+                    .name(name(slot))
+                    .salary((flags & NO_SALARY) != 0 ? null : records.getInt(position + SALARY))
+                    .age((flags & NO_AGE) != 0 ? null : records.getInt(position + AGE))
+                    .title(readString(position + TITLE, position + TITLE_LENGTH))
+                    .email(readString(position + EMAIL, position + EMAIL_LENGTH))
+                    .build();
+        }
+
+        UUID id(long slot) {
+            final long position = position(slot + 1);
+            return new UUID(records.getLong(position + ID_MOST), records.getLong(position + ID_LEAST));
+        }
+
+        String name(long slot) {
+            final long position = position(slot + 1);
+            return readString(position + NAME, position + NAME_LENGTH);
+        }
+
+        long sequence(long slot) {
+            return records.getLong(position(slot + 1) + SEQUENCE);
+        }
+
+        boolean isDeleted(long slot) {
+            return (records.getInt(position(slot + 1) + FLAGS) & DELETED) != 0;
+        }
+
+        void force() {
+            records.force();
+            strings.force();
+            ids.force();
+            names.force();
+        }
+
+        void close() throws IOException {
+            records.close();
+            strings.close();
+            ids.close();
+            names.close();
+        }
+
+        void closeQuietly() {
+            try {
+                close();
+            } catch (IOException e) {
+                log.warn("Cannot close a compacted employee store generation", e);
+            }
+        }
+
+        /**
+         * Recreates missing or damaged hash tables from the records; the only path that scans them.
+         */
+        private void rebuildIndexes() throws IOException {
+            final long started = System.nanoTime();
+            ids = HashIndex.create(directory.resolve(IDS_FILE.formatted(generation)), live);
+            names = HashIndex.create(directory.resolve(NAMES_FILE.formatted(generation)), live);
+            for (long slot = 0; slot < count; slot++) {
+                if (!isDeleted(slot)) {
+                    index(slot, id(slot), name(slot));
+                }
+            }
+            log.warn("Rebuilt the employee store indexes in {} ms", (System.nanoTime() - started) / 1_000_000);
+        }
+
+        private void index(long slot, UUID id, String name) {
+            ids.put(id.getMostSignificantBits(), id.getLeastSignificantBits(), slot);
+            if (name != null) {
+                names.put(nameKey(EmployeeKeys.fold(name)), 0, slot);
+            }
+        }
+
+        private void writeHeader() {
+            records.putLong(HEADER_COUNT, count);
+            records.putLong(HEADER_LIVE, live);
+            records.putLong(HEADER_STRINGS_END, stringsEnd);
+            records.putLong(HEADER_NEXT_SEQUENCE, nextSequence);
+        }
+
+        private void writeString(long offsetPosition, long lengthPosition, String value) {
+            if (value == null) {
+                records.putInt(lengthPosition, -1);
+                return;
+            }
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length == 0) {
+                records.putLong(offsetPosition, 0);
+                records.putInt(lengthPosition, 0);
+                return;
+            }
+            if (bytes.length > STRING_SEGMENT_SIZE) {
+                throw new IllegalArgumentException("String of " + bytes.length + " bytes is too long to store");
+            }
+            long offset = stringsEnd;
+            if (offset % STRING_SEGMENT_SIZE + bytes.length > STRING_SEGMENT_SIZE) {
+                offset = (offset / STRING_SEGMENT_SIZE + 1) * STRING_SEGMENT_SIZE;
+            }
+            try {
+                strings.ensureCapacity(offset + bytes.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            strings.put(offset, bytes);
+            stringsEnd = offset + bytes.length;
+            records.putLong(offsetPosition, offset);
+            records.putInt(lengthPosition, bytes.length);
+        }
+
+        private String readString(long offsetPosition, long lengthPosition) {
+            final int length = records.getInt(lengthPosition);
+            if (length <= 0) {
+                return length < 0 ? null : "";
+            }
+            final byte[] bytes = new byte[length];
+            strings.get(records.getLong(offsetPosition), bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static long nameKey(String folded) {
+            return EmployeeKeys.mix(folded.hashCode());
+        }
+
+        private static long position(long record) {
+            return record * RECORD_SIZE;
+        }
+    }
+
+    /**
+     * Open-addressing hash table in a mapped file, from a two-long key to record slots. A key may map to several
+     * slots. Kept at most half full, and grown into a new file twice the size when it gets there.
+     */
+    private static final class HashIndex {
+        private static final int ENTRY_SIZE = 24;
+        private static final int KEY_HIGH = 0;
+        private static final int KEY_LOW = 8;
+        private static final int VALUE = 16;
+        // Values hold slot + 1, so a zeroed entry is empty
+        private static final long EMPTY = 0;
+        private static final long REMOVED = -1;
+        private static final int HEADER_CAPACITY = 0;
+        private static final int HEADER_USED = 8;
+
+        private final Path path;
+        private final MappedFile file;
+        private final long capacity;
+        // Entries holding a slot or a removal marker; both lengthen probes
+        private long used;
+
+        private HashIndex(Path path, MappedFile file, long capacity, long used) {
+            this.path = path;
+            this.file = file;
+            this.capacity = capacity;
+            this.used = used;
+        }
+
+        static HashIndex create(Path path, long expected) throws IOException {
+            Files.deleteIfExists(path);
+            final long capacity = Long.highestOneBit(Math.max(1024, expected * 2) - 1) << 1;
+            final var file = new MappedFile(path, (long) ENTRY_SIZE << 20);
+            file.ensureCapacity((capacity + 1) * ENTRY_SIZE);
+            file.putLong(HEADER_CAPACITY, capacity);
+            return new HashIndex(path, file, capacity, 0);
+        }
+
+        /**
+         * Opens the table at {@code path}, or returns null when it is missing or not a table.
+         */
+        static HashIndex open(Path path) throws IOException {
+            if (!Files.exists(path)) {
+                return null;
+            }
+            final var file = new MappedFile(path, (long) ENTRY_SIZE << 20);
+            final long capacity = file.getLong(HEADER_CAPACITY);
+            if (capacity <= 0 || Long.bitCount(capacity) != 1 || Files.size(path) < (capacity + 1) * ENTRY_SIZE) {
+                file.close();
+                return null;
+            }
+            file.ensureCapacity((capacity + 1) * ENTRY_SIZE);
+            return new HashIndex(path, file, capacity, file.getLong(HEADER_USED));
+        }
+
+        /**
+         * Returns a slot under this key that {@code accept} takes: the first one found, or the lowest when
+         * {@code lowest} is set. Returns -1 when there is none.
+         */
+        long find(long keyHigh, long keyLow, LongPredicate accept, boolean lowest) {
+            long found = -1;
+            for (long entry = home(keyHigh, keyLow); ; entry = (entry + 1) & (capacity - 1)) {
+                final long position = (entry + 1) * ENTRY_SIZE;
+                final long value = file.getLong(position + VALUE);
+                if (value == EMPTY) {
+                    return found;
+                }
+                if (value != REMOVED
+                        && file.getLong(position + KEY_HIGH) == keyHigh
+                        && file.getLong(position + KEY_LOW) == keyLow
+                        && (found < 0 || value - 1 < found)
+                        && accept.test(value - 1)) {
+                    found = value - 1;
+                    if (!lowest) {
+                        return found;
+                    }
+                }
+            }
+        }
+
+        void put(long keyHigh, long keyLow, long slot) {
+            for (long entry = home(keyHigh, keyLow); ; entry = (entry + 1) & (capacity - 1)) {
+                final long position = (entry + 1) * ENTRY_SIZE;
+                final long value = file.getLong(position + VALUE);
+                if (value == EMPTY || value == REMOVED) {
+                    file.putLong(position + KEY_HIGH, keyHigh);
+                    file.putLong(position + KEY_LOW, keyLow);
+                    file.putLong(position + VALUE, slot + 1);
+                    if (value == EMPTY) {
+                        file.putLong(HEADER_USED, ++used);
+                    }
+                    return;
+                }
+            }
+        }
+
+        void remove(long keyHigh, long keyLow, long slot) {
+            for (long entry = home(keyHigh, keyLow); ; entry = (entry + 1) & (capacity - 1)) {
+                final long position = (entry + 1) * ENTRY_SIZE;
+                final long value = file.getLong(position + VALUE);
+                if (value == EMPTY) {
+                    return;
+                }
+                if (value == slot + 1
+                        && file.getLong(position + KEY_HIGH) == keyHigh
+                        && file.getLong(position + KEY_LOW) == keyLow) {
+                    file.putLong(position + VALUE, REMOVED);
+                    return;
+                }
+            }
+        }
+
+        boolean isFull() {
+            return used * 2 >= capacity;
+        }
+
+        /**
+         * Copies the live entries into a table sized for twice as many and replaces this one with it. Readers
+         * still holding this table keep a valid mapping.
+         */
+        HashIndex grow() throws IOException {
+            long entries = 0;
+            for (long entry = 0; entry < capacity; entry++) {
+                final long value = file.getLong((entry + 1) * ENTRY_SIZE + VALUE);
+                if (value != EMPTY && value != REMOVED) {
+                    entries++;
+                }
+            }
+            final Path temporary = path.resolveSibling(path.getFileName() + TEMPORARY_SUFFIX);
+            final HashIndex grown = create(temporary, entries * 2);
+            for (long entry = 0; entry < capacity; entry++) {
+                final long position = (entry + 1) * ENTRY_SIZE;
+                final long value = file.getLong(position + VALUE);
+                if (value != EMPTY && value != REMOVED) {
+                    grown.put(file.getLong(position + KEY_HIGH), file.getLong(position + KEY_LOW), value - 1);
+                }
+            }
+            grown.force();
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            close();
+            return new HashIndex(path, grown.file, grown.capacity, grown.used);
+        }
+
+        void force() {
+            file.force();
+        }
+
+        void close() throws IOException {
+            file.close();
+        }
+
+        private long home(long keyHigh, long keyLow) {
+            return EmployeeKeys.mix(keyHigh ^ Long.rotateLeft(keyLow, 32)) & (capacity - 1);
+        }
+    }
+
+    /**
+     * A file mapped in fixed-size segments, grown a segment at a time. Values never span two segments.
+     */
+    private static final class MappedFile {
+        private final FileChannel channel;
+        private final long segmentSize;
+        private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+        MappedFile(Path path, long segmentSize) throws IOException {
+            this.channel = FileChannel.open(
+                    path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.segmentSize = segmentSize;
+            ensureCapacity(Math.max(channel.size(), 1));
+        }
+
+        /**
+         * Maps segments until the first {@code bytes} bytes are addressable; mapping past the end grows the file.
+         */
+        void ensureCapacity(long bytes) throws IOException {
+            final MappedByteBuffer[] mapped = segments;
+            final int needed = (int) ((bytes + segmentSize - 1) / segmentSize);
+            if (needed <= mapped.length) {
+                return;
+            }
+            final MappedByteBuffer[] grown = Arrays.copyOf(mapped, needed);
+            for (int i = mapped.length; i < needed; i++) {
+                grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * segmentSize, segmentSize);
+            }
+            segments = grown;
+        }
+
+        int getInt(long position) {
+            return segment(position).getInt(offset(position));
+        }
+
+        long getLong(long position) {
+            return segment(position).getLong(offset(position));
+        }
+
+        void get(long position, byte[] destination) {
+            segment(position).get(offset(position), destination);
+        }
+
+        void putInt(long position, int value) {
+            segment(position).putInt(offset(position), value);
+        }
+
+        void putLong(long position, long value) {
+            segment(position).putLong(offset(position), value);
+        }
+
+        void put(long position, byte[] source) {
+            segment(position).put(offset(position), source);
+        }
+
+        void force() {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        }
+
+        void close() throws IOException {
+            force();
+            channel.close();
+        }
+
+        private MappedByteBuffer segment(long position) {
+            return segments[(int) (position / segmentSize)];
+        }
+
+        private int offset(long position) {
+            return (int) (position % segmentSize);
+        }
+    }
+
+    private record Snapshot(long version, List<MockEmployee> employees) {}
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The most recent writes to the employee data set, oldest first, bounded to {@code capacity} entries. Once full, the
+ * oldest change is dropped for each new one, and versions before it can no longer be caught up from.
+ */
+public class MockEmployeeChangeLog {
+
+    private final int capacity;
+    private final ArrayDeque<MockEmployeeChange> changes;
+    // Oldest version the retained changes lead on from; unset until the first change
+    private long floor = -1;
+
+    public MockEmployeeChangeLog(int capacity) {
+        this.capacity = capacity;
+        this.changes = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    /**
+     * Records {@code change}, which moved the data set on from {@code previousVersion}.
+     */
+    public synchronized void append(long previousVersion, MockEmployeeChange change) {
+        if (floor < 0) {
+            floor = previousVersion;
+        }
+        if (changes.size() == capacity) {
+            floor = changes.removeFirst().version();
+        }
+        changes.addLast(change);
+    }
+
+    /**
+     * Returns the changes after {@code version}, given that the data set is at {@code current}, or nothing when
+     * {@code version} is older than the log reaches back or is not a version of this data set. Callers hold off
+     * writes meanwhile, so the log ends at {@code current}.
+     */
+    public synchronized Optional<List<MockEmployeeChange>> since(long version, long current) {
+        if (version == current) {
+            return Optional.of(List.of());
+        }
+        if (floor < 0 || version < floor || version > current) {
+            return Optional.empty();
+        }
+        final var result = new ArrayList<MockEmployeeChange>();
+        final Iterator<MockEmployeeChange> newestFirst = changes.descendingIterator();
+        while (newestFirst.hasNext()) {
+            final MockEmployeeChange change = newestFirst.next();
+            if (change.version() <= version) {
+                break;
+            }
+            result.add(change);
+        }
+        Collections.reverse(result);
+        return Optional.of(result);
+    }
+}
@@ -0,0 +1,63 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Home of the mock employees. Employees are ordered by an insertion sequence that is never reused, which doubles as
+ * the page cursor, so paging stays stable while employees are created and deleted. Implementations are thread-safe.
+ */
+public interface MockEmployeeStore {
+
+    /**
+     * Returns every employee in insertion order. The list is a snapshot and does not change with later writes.
+     */
+    List<MockEmployee> getAll();
+
+    int size();
+
+    /**
+     * Returns a version that grows with every write. It is bumped once the write is visible, so data read after the
+     * version is never older than it, and an unchanged version means the employees have not changed.
+     */
+    long version();
+
+    Optional<MockEmployee> findById(@NonNull UUID id);
+
+    /**
+     * Returns up to {@code limit} employees with a cursor in {@code [cursor, end)}, oldest first.
+     */
+    MockEmployeePage getPage(long cursor, long end, int limit);
+
+    void add(@NonNull MockEmployee employee);
+
+    /**
+     * Removes an employee whose name matches {@code name} ignoring case.
+     */
+    Optional<MockEmployee> removeByName(@NonNull String name);
+
+    Optional<MockEmployee> removeById(@NonNull UUID id);
+
+    enum Mode {
+        /**
+         * Every employee generated up front and held on the heap.
+         */
+        MEMORY,
+        /**
+         * Employees derived on demand from their index, with only changes held on the heap.
+         */
+        VIRTUAL,
+        /**
+         * Employees kept in memory-mapped files that survive a restart.
+         */
+        MAPPED,
+        /**
+         * Every employee held on the heap as columns of primitives instead of objects.
+         */
+        COLUMNAR
+    }
+}
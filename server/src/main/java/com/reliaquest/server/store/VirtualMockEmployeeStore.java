@@ -0,0 +1,366 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * {@link MockEmployeeStore} whose generated employees are computed on demand instead of stored.
+ * <p>
+ * Employee {@code i} of the {@code size} generated ones has sequence {@code i}, and every field is a pure function of
+ * the seed and {@code i}:
+ * <ul>
+ *   <li>The id carries a keyed permutation of {@code i} in its low bits, so it decodes back to {@code i}.</li>
+ *   <li>The name is a first and last name from word tables built once from a seeded {@link Faker}. The pair is picked
+ *   by a keyed permutation of {@code i}, so all indexes sharing a name can be enumerated straight from the name.</li>
+ *   <li>Salary, age, title and email come from a hash of {@code i}.</li>
+ * </ul>
+ * Creates and deletes are recorded in an overlay: created employees are held like the in-memory store does, deleted
+ * generated ones as a set of indexes. Lookups by id, deletes by name and page reads are O(1) per employee returned,
+ * and heap use grows with the number of changes, not with {@code size}.
+ */
+@Slf4j
+public class VirtualMockEmployeeStore implements MockEmployeeStore {
+
+    private static final int FIRST_NAMES = 256;
+    private static final int LAST_NAMES = 256;
+    private static final int TITLES = 128;
+    private static final long LOW_62_BITS = (1L << 62) - 1;
+    private static final long ID_MULTIPLIER = 0x5DEECE66DL * 2 + 1;
+    private static final long ID_MULTIPLIER_INVERSE =
+            BigInteger.valueOf(ID_MULTIPLIER).modInverse(BigInteger.ONE.shiftLeft(62)).longValue();
+
+    private final int size;
+    private final long seed;
+    private final long idKey;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final String[] titles;
+    private final Map<String, Integer> firstNameIndex;
+    private final Map<String, Integer> lastNameIndex;
+    // Affine permutation of [0, size) picking each employee's name pair
+    private final long nameMultiplier;
+    private final long nameMultiplierInverse;
+    private final long nameOffset;
+
+    private final NavigableSet<Long> deleted = new ConcurrentSkipListSet<>();
+    private final ConcurrentNavigableMap<Long, MockEmployee> created = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<UUID, Long> createdIds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, NavigableSet<Long>> createdNames = new ConcurrentHashMap<>();
+    // Sequence of the next created employee; only advanced once the employee is visible, so it is a safe end cursor
+    private volatile long nextSequence;
+    // Bumped after every write
+    private volatile long version;
+
+    public VirtualMockEmployeeStore(int size, long seed, Locale locale) {
+        final long started = System.nanoTime();
+        this.size = size;
+        this.seed = seed;
+        this.nextSequence = size;
+
+        final var random = new Random(seed);
+        this.idKey = random.nextLong() & LOW_62_BITS;
+        final var faker = new Faker(locale, random);
+        this.firstNames = words(FIRST_NAMES, () -> faker.name().firstName(), true);
+        this.lastNames = words(LAST_NAMES, () -> faker.name().lastName(), true);
+        this.titles = words(TITLES, () -> faker.job().title(), false);
+        this.firstNameIndex = indexOf(firstNames);
+        this.lastNameIndex = indexOf(lastNames);
+
+        long multiplier = size <= 1 ? 1 : 1 + Math.floorMod(random.nextLong(), (long) size - 1);
+        while (BigInteger.valueOf(multiplier).gcd(BigInteger.valueOf(size)).intValue() != 1) {
+            multiplier = multiplier % (size - 1) + 1;
+        }
+        this.nameMultiplier = multiplier;
+        this.nameMultiplierInverse = size <= 1
+                ? 0
+                : BigInteger.valueOf(multiplier).modInverse(BigInteger.valueOf(size)).longValue();
+        this.nameOffset = size == 0 ? 0 : Math.floorMod(random.nextLong(), (long) size);
+
+        log.info(
+                "Serving {} virtual employees with seed {} ({} x {} names, {} titles), prepared in {} ms",
+                size,
+                seed,
+                firstNames.length,
+                lastNames.length,
+                titles.length,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public List<MockEmployee> getAll() {
+        final long[] deletedIndexes = deleted.stream().mapToLong(Long::longValue).toArray();
+        final List<MockEmployee> createdEmployees = List.copyOf(created.values());
+        final int generated = size - deletedIndexes.length;
+        return new AbstractList<>() {
+            @Override
+            public MockEmployee get(int position) {
+                if (position >= generated) {
+                    return createdEmployees.get(position - generated);
+                }
+                // deletedIndexes[j] - j is the number of live indexes before the j-th deleted one, and never decreases,
+                // so the deleted indexes before the target are found by binary search
+                int low = 0;
+                int high = deletedIndexes.length;
+                while (low < high) {
+                    final int middle = (low + high) >>> 1;
+                    if (deletedIndexes[middle] - middle <= position) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                return generate(position + low);
+            }
+
+            @Override
+            public int size() {
+                return generated + createdEmployees.size();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return size - deleted.size() + created.size();
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        final Long sequence = createdIds.get(id);
+        if (sequence != null) {
+            return Optional.ofNullable(created.get(sequence));
+        }
+        final long index = indexOf(id);
+        return index < 0 || deleted.contains(index) ? Optional.empty() : Optional.of(generate(index));
+    }
+
+    @Override
+    public MockEmployeePage getPage(long cursor, long end, int limit) {
+        final long endCursor = nextSequence;
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        long sequence = cursor;
+        for (; sequence < Math.min(end, size) && employees.size() < limit; sequence++) {
+            if (!deleted.contains(sequence)) {
+                employees.add(generate(sequence));
+            }
+        }
+        if (employees.size() == limit) {
+            return new MockEmployeePage(employees, nextGeneratedOrCreated(sequence, end), endCursor);
+        }
+
+        Long nextCursor = null;
+        for (Map.Entry<Long, MockEmployee> entry :
+                created.subMap(Math.max(sequence, size), true, end, false).entrySet()) {
+            if (employees.size() == limit) {
+                nextCursor = entry.getKey();
+                break;
+            }
+            employees.add(entry.getValue());
+        }
+        return new MockEmployeePage(employees, nextCursor, endCursor);
+    }
+
+    @Override
+    public synchronized void add(@NonNull MockEmployee employee) {
+        final long index = indexOf(employee.getId());
+        if (index >= 0) {
+            // Same as re-adding an id in memory: the generated employee is replaced and moves to the end
+            deleted.add(index);
+        }
+        final long sequence = nextSequence;
+        final Long previous = createdIds.put(employee.getId(), sequence);
+        if (previous != null) {
+            unindexCreated(previous);
+        }
+        if (employee.getName() != null) {
+            createdNames
+                    .computeIfAbsent(EmployeeKeys.fold(employee.getName()), ignored -> new ConcurrentSkipListSet<>())
+                    .add(sequence);
+        }
+        created.put(sequence, employee);
+        nextSequence = sequence + 1;
+        version++;
+    }
+
+    /**
+     * Removes the generated employee with this name that comes first in name order, or else the oldest created one.
+     */
+    @Override
+    public synchronized Optional<MockEmployee> removeByName(@NonNull String name) {
+        final long index = firstGeneratedIndexNamed(name);
+        if (index >= 0) {
+            deleted.add(index);
+            version++;
+            return Optional.of(generate(index));
+        }
+
+        final NavigableSet<Long> sequences = createdNames.get(EmployeeKeys.fold(name));
+        if (sequences == null || sequences.isEmpty()) {
+            return Optional.empty();
+        }
+        final long sequence = sequences.first();
+        final MockEmployee employee = created.get(sequence);
+        createdIds.remove(employee.getId());
+        unindexCreated(sequence);
+        version++;
+        return Optional.of(employee);
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> removeById(@NonNull UUID id) {
+        final Long sequence = createdIds.remove(id);
+        if (sequence != null) {
+            final MockEmployee employee = created.get(sequence);
+            unindexCreated(sequence);
+            version++;
+            return Optional.of(employee);
+        }
+
+        final long index = indexOf(id);
+        if (index < 0 || !deleted.add(index)) {
+            return Optional.empty();
+        }
+        version++;
+        return Optional.of(generate(index));
+    }
+
+    /**
+     * Builds generated employee {@code index}.
+     */
+    private MockEmployee generate(long index) {
+        final long pair = namePair(index);
+        final String firstName = firstNames[(int) (pair % firstNames.length)];
+        final String lastName = lastNames[(int) (pair / firstNames.length % lastNames.length)];
+        final long hash = EmployeeKeys.mix(seed ^ (index * 0x9E3779B97F4A7C15L));
+        return MockEmployee.builder()
+                .id(idOf(index))
+                .name(firstName + ' ' + lastName)
+                .salary(30000 + (int) Math.floorMod(hash, 470000L))
+                .age(16 + (int) ((hash >>> 24) % 54))
+                .title(titles[(int) ((hash >>> 40) % titles.length)])
+                .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        (firstName.charAt(0) + lastName + index).toLowerCase(Locale.ROOT)))
+                .build();
+    }
+
+    /**
+     * A version 4 UUID whose low 62 bits are a keyed bijection of {@code index} and whose high bits are a hash of it.
+     */
+    private UUID idOf(long index) {
+        final long low = ((index ^ idKey) * ID_MULTIPLIER) & LOW_62_BITS;
+        final long most = (EmployeeKeys.mix(seed + index) & ~0xF000L) | 0x4000L;
+        return new UUID(most, low | (0x8000L << 48));
+    }
+
+    /**
+     * Returns the generated index {@code id} was derived from, or -1 when it is not a generated id.
+     */
+    private long indexOf(UUID id) {
+        final long low = id.getLeastSignificantBits() & LOW_62_BITS;
+        final long index = ((low * ID_MULTIPLIER_INVERSE) & LOW_62_BITS) ^ idKey;
+        return index >= 0 && index < size && idOf(index).equals(id) ? index : -1;
+    }
+
+    private long namePair(long index) {
+        return (index * nameMultiplier + nameOffset) % size;
+    }
+
+    private long indexOfNamePair(long pair) {
+        return Math.floorMod((pair - nameOffset) * nameMultiplierInverse, (long) size);
+    }
+
+    /**
+     * Walks the generated indexes named {@code name}, which are every {@code pairs}-th name pair, and returns the
+     * first one not deleted yet, or -1.
+     */
+    private long firstGeneratedIndexNamed(String name) {
+        final int space = name.indexOf(' ');
+        if (space < 0) {
+            return -1;
+        }
+        final Integer first = firstNameIndex.get(EmployeeKeys.fold(name.substring(0, space)));
+        final Integer last = lastNameIndex.get(EmployeeKeys.fold(name.substring(space + 1)));
+        if (first == null || last == null) {
+            return -1;
+        }
+        final long pairs = (long) firstNames.length * lastNames.length;
+        for (long pair = first + (long) last * firstNames.length; pair < size; pair += pairs) {
+            final long index = indexOfNamePair(pair);
+            if (!deleted.contains(index)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private Long nextGeneratedOrCreated(long sequence, long end) {
+        for (; sequence < Math.min(end, size); sequence++) {
+            if (!deleted.contains(sequence)) {
+                return sequence;
+            }
+        }
+        final Long next = created.ceilingKey(Math.max(sequence, size));
+        return next != null && next < end ? next : null;
+    }
+
+    private void unindexCreated(long sequence) {
+        final MockEmployee employee = created.remove(sequence);
+        if (employee != null && employee.getName() != null) {
+            createdNames.computeIfPresent(EmployeeKeys.fold(employee.getName()), (key, sequences) -> {
+                sequences.remove(sequence);
+                return sequences.isEmpty() ? null : sequences;
+            });
+        }
+    }
+
+    /**
+     * Draws up to {@code count} distinct words, case-insensitively; single-word tables skip entries with spaces so
+     * that a full name splits back into its parts.
+     */
+    private static String[] words(int count, Supplier<String> source, boolean singleWord) {
+        final Set<String> seen = new LinkedHashSet<>();
+        final List<String> words = new ArrayList<>(count);
+        for (int attempt = 0; attempt < count * 50 && words.size() < count; attempt++) {
+            final String word = source.get();
+            if ((!singleWord || word.indexOf(' ') < 0) && seen.add(EmployeeKeys.fold(word))) {
+                words.add(word);
+            }
+        }
+        return words.toArray(String[]::new);
+    }
+
+    private static Map<String, Integer> indexOf(String[] words) {
+        final var index = new HashMap<String, Integer>(words.length * 2);
+        for (int i = 0; i < words.length; i++) {
+            index.put(EmployeeKeys.fold(words[i]), i);
+        }
+        return index;
+    }
+}
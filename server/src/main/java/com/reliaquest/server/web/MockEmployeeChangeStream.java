@@ -0,0 +1,157 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes every create and delete to subscribed clients as server-sent events, each with its data set version as the
+ * event id.
+ * <p>
+ * A client that reconnects with {@code Last-Event-ID} first gets the changes it missed from the change log, or a
+ * {@value #RESET_EVENT} event when the log no longer reaches back that far. All sends happen on one thread, in version
+ * order, so a replay and the live changes around it neither interleave nor repeat. A heartbeat comment goes out to
+ * idle clients; since it queues behind every pending change, it also tells them they are up to date.
+ */
+@Slf4j
+public class MockEmployeeChangeStream implements Closeable {
+
+    public static final String CHANGE_EVENT = "change";
+    public static final String RESET_EVENT = "reset";
+
+    private final MockEmployeeService mockEmployeeService;
+    private final Duration timeout;
+    private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "employee-change-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Only touched on the sender thread
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    public MockEmployeeChangeStream(MockEmployeeService mockEmployeeService, Duration timeout, Duration heartbeat) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.timeout = timeout;
+        sender.scheduleWithFixedDelay(
+                this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Subscribes a client, replaying the changes after {@code lastEventId} if given, and otherwise only pushing
+     * changes from now on.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        final var emitter = new SseEmitter(timeout.toMillis());
+        final var subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> execute(() -> subscribers.remove(subscriber)));
+        emitter.onTimeout(emitter::complete);
+        execute(() -> start(subscriber, lastEventId));
+        return emitter;
+    }
+
+    @EventListener
+    public void onChange(MockEmployeeChange change) {
+        execute(() -> {
+            final Iterator<Subscriber> iterator = subscribers.iterator();
+            while (iterator.hasNext()) {
+                final Subscriber subscriber = iterator.next();
+                if (change.version() > subscriber.lastVersion && !subscriber.send(change)) {
+                    iterator.remove();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        sender.shutdownNow();
+    }
+
+    private void start(Subscriber subscriber, Long lastEventId) {
+        if (lastEventId == null) {
+            subscriber.lastVersion = mockEmployeeService.getDatasetVersion();
+            subscribers.add(subscriber);
+            return;
+        }
+
+        final Optional<List<MockEmployeeChange>> missed = mockEmployeeService.getChangesSince(lastEventId);
+        if (missed.isEmpty()) {
+            subscriber.lastVersion = mockEmployeeService.getDatasetVersion();
+            log.debug("Changes since {} are gone, telling the subscriber to reload", lastEventId);
+            if (!subscriber.sendReset()) {
+                return;
+            }
+        } else {
+            subscriber.lastVersion = lastEventId;
+            for (MockEmployeeChange change : missed.get()) {
+                if (!subscriber.send(change)) {
+                    return;
+                }
+            }
+        }
+        subscribers.add(subscriber);
+    }
+
+    private void sendHeartbeats() {
+        subscribers.removeIf(subscriber -> !subscriber.sendHeartbeat());
+    }
+
+    private void execute(Runnable task) {
+        try {
+            sender.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Change stream is closed, dropping {}", task);
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        // Newest version sent or known to the client; older changes are skipped
+        private long lastVersion;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        boolean send(MockEmployeeChange change) {
+            lastVersion = change.version();
+            return send(SseEmitter.event()
+                    .id(String.valueOf(change.version()))
+                    .name(CHANGE_EVENT)
+                    .data(change, MediaType.APPLICATION_JSON));
+        }
+
+        boolean sendReset() {
+            return send(SseEmitter.event().id(String.valueOf(lastVersion)).name(RESET_EVENT).data(""));
+        }
+
+        boolean sendHeartbeat() {
+            return send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter has completed; the container completes it with the error
+                log.debug("Dropping change stream subscriber: {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+}
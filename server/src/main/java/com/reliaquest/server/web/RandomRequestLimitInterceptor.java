@@ -1,48 +1,185 @@
 package com.reliaquest.server.web;
 
+import com.reliaquest.server.config.RateLimitProperties;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.random.RandomGenerator;
-import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+/**
+ * Limits each client to a budget of requests per window using the generic cell rate algorithm (GCRA).
+ * <p>
+ * Every (endpoint, client) pair keeps a single theoretical arrival time in an {@link AtomicLong}, advanced with a CAS
+ * loop, so admission is lock-free and exact under concurrency. A client may burst its whole budget and is then paced
+ * at one request per {@code window / requests}. Rejections answer 429 with a {@code Retry-After} header. Once a client
+ * and endpoint have been seen, a request allocates nothing here. With {@code exempt-not-modified}, a request answered
+ * 304 gives its token back, so revalidating an unchanged list costs no budget.
+ * <p>
+ * At most {@code max-clients} clients are tracked per budget. Idle ones are swept out at most once per interval, and
+ * while every tracked client is still active, new ones share a single budget instead of growing the map.
+ */
+@Slf4j
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
-    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
-    private static final Duration REQUEST_BACKOFF_DURATION =
-            Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+    private static final Function<String, AtomicLong> NEW_CLIENT = ignored -> new AtomicLong(Long.MIN_VALUE);
 
-    private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
+    private final RateLimitProperties properties;
+    private final Bucket sharedBucket;
+    private final ConcurrentHashMap<Method, Bucket> endpointBuckets = new ConcurrentHashMap<>();
+
+    public RandomRequestLimitInterceptor(RateLimitProperties properties) {
+        this.properties = properties;
+        this.sharedBucket = bucket(properties.getRequests(), properties.getWindow());
+        log.info(
+                "Rate limiting each client to {} requests per {}",
+                sharedBucket.requests,
+                Duration.ofNanos(sharedBucket.toleranceNanos));
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isBefore(requestLimit.get().getLastRequested())) {
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                return false;
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        final long waitNanos = bucketFor(handler).acquire(clientKey(request), System.nanoTime());
+        if (waitNanos <= 0) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        // Rounded up, so a client that comes back when told to is admitted
+        final long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1);
+        response.setIntHeader(HttpHeaders.RETRY_AFTER, (int) Math.max(1, retryAfterSeconds));
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        if (properties.isEnabled()
+                && properties.isExemptNotModified()
+                && response.getStatus() == HttpStatus.NOT_MODIFIED.value()) {
+            bucketFor(handler).refund(clientKey(request));
+        }
+    }
+
+    private Bucket bucketFor(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return sharedBucket;
+        }
+        // HandlerMethod instances may be created per request, but the underlying Method is shared
+        final Bucket bucket = endpointBuckets.get(handlerMethod.getMethod());
+        return bucket != null ? bucket : endpointBuckets.computeIfAbsent(handlerMethod.getMethod(), this::newBucket);
+    }
+
+    private Bucket newBucket(Method method) {
+        final RateLimitProperties.Limit limit = properties.getEndpoints().get(method.getName());
+        if (limit != null) {
+            return bucket(
+                    limit.getRequests() != null ? limit.getRequests() : sharedBucket.requests,
+                    limit.getWindow() != null ? limit.getWindow() : Duration.ofNanos(sharedBucket.toleranceNanos));
+        }
+        return properties.isPerEndpoint()
+                ? new Bucket(sharedBucket.requests, sharedBucket.toleranceNanos, properties.getMaxClients())
+                : sharedBucket;
+    }
+
+    private Bucket bucket(Integer requests, Duration window) {
+        final int budget = requests != null ? requests : RandomGenerator.getDefault().nextInt(5, 10);
+        final Duration period =
+                window != null ? window : Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+        return new Bucket(budget, period.toNanos(), properties.getMaxClients());
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        if (properties.getClientKey() == RateLimitProperties.ClientKey.HEADER) {
+            final String client = request.getHeader(properties.getClientHeader());
+            if (client != null) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * GCRA state for one budget: {@code requests} per {@code toleranceNanos}, tracked per client.
+     */
+    private static final class Bucket {
+        private final int requests;
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final int maxClients;
+        private final ConcurrentHashMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+        // Shared by clients that arrive while the map is full of active ones
+        private final AtomicLong untracked = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+
+        Bucket(int requests, long windowNanos, int maxClients) {
+            this.requests = requests;
+            this.intervalNanos = windowNanos / requests;
+            this.toleranceNanos = windowNanos;
+            this.maxClients = maxClients;
+        }
+
+        /**
+         * Admits a request from {@code client} at {@code now}, returning 0, or returns how long it has to wait.
+         */
+        long acquire(String client, long now) {
+            AtomicLong arrival = arrivals.get(client);
+            if (arrival == null) {
+                arrival = track(client, now);
             }
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isAfter(requestLimit.get().getLastRequested())) {
-                requestLimit.set(RequestLimit.init());
+            while (true) {
+                final long current = arrival.get();
+                final long next = Math.max(current, now) + intervalNanos;
+                final long excess = next - now - toleranceNanos;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (arrival.compareAndSet(current, next)) {
+                    return 0;
+                }
             }
-        } else {
-            requestLimit.getAndUpdate(
-                    currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
         }
 
-        return true;
-    }
+        /**
+         * Gives back the token of a request {@code client} was admitted for.
+         */
+        void refund(String client) {
+            final AtomicLong arrival = arrivals.get(client);
+            if (arrival != null) {
+                // acquire() never schedules before now, so moving the arrival time into the past is harmless
+                arrival.addAndGet(-intervalNanos);
+            }
+        }
 
-    private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
-        public static RequestLimit init() {
-            return new RequestLimit(0, Instant.now());
+        private AtomicLong track(String client, long now) {
+            if (arrivals.size() >= maxClients) {
+                evictIdleClients(now);
+                if (arrivals.size() >= maxClients) {
+                    return untracked;
+                }
+            }
+            return arrivals.computeIfAbsent(client, NEW_CLIENT);
+        }
+
+        private void evictIdleClients(long now) {
+            final long due = nextSweep.get();
+            // One thread scans per interval, however many new clients arrive in the meantime
+            if (now - due >= 0 && nextSweep.compareAndSet(due, now + intervalNanos)) {
+                // A client whose arrival time has passed has its full budget back, same as a new one
+                arrivals.values().removeIf(arrival -> arrival.get() - now <= 0);
+            }
         }
     }
 }
@@ -0,0 +1,153 @@
+package com.reliaquest.server.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedMockEmployeeStoreTest {
+
+    // The store must already exist when reopened, so nothing is generated
+    private static final Supplier<List<MockEmployee>> NOT_GENERATED = () -> {
+        throw new AssertionError("The store was generated again instead of being reopened");
+    };
+
+    @TempDir
+    Path directory;
+
+    private MappedMockEmployeeStore store;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void reopen_afterClose_keepsCreatesAndDeletes() throws Exception {
+        // Given
+        MockEmployee john = employee("John Doe");
+        MockEmployee jane = employee("Jane Smith");
+        MockEmployee david = employee("David Green");
+        store = new MappedMockEmployeeStore(directory, () -> List.of(john, jane));
+        store.add(david);
+        store.removeById(john.getId());
+        store.close();
+
+        // When
+        store = new MappedMockEmployeeStore(directory, NOT_GENERATED);
+
+        // Then
+        assertThat(store.getAll()).containsExactly(jane, david);
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.findById(david.getId())).contains(david);
+        assertThat(store.findById(john.getId())).isEmpty();
+    }
+
+    @Test
+    void compact_keepsSequencesAndPageCursors() {
+        // Given
+        List<MockEmployee> employees = employees(6);
+        store = new MappedMockEmployeeStore(directory, () -> employees);
+        store.removeById(employees.get(0).getId());
+        store.removeById(employees.get(3).getId());
+        MockEmployeePage first = store.getPage(0, Long.MAX_VALUE, 2);
+
+        // When
+        store.compact();
+        MockEmployeePage rest = store.getPage(first.nextCursor(), Long.MAX_VALUE, 10);
+        MockEmployee added = employee("Added Later");
+        store.add(added);
+
+        // Then
+        assertThat(first.employees()).containsExactly(employees.get(1), employees.get(2));
+        assertThat(rest.employees()).containsExactly(employees.get(4), employees.get(5));
+        assertThat(rest.endCursor()).isEqualTo(first.endCursor());
+        assertThat(store.getPage(rest.endCursor(), Long.MAX_VALUE, 10).employees())
+                .containsExactly(added);
+        assertThat(Files.exists(directory.resolve("ids-1.dat"))).isTrue();
+        assertThat(Files.exists(directory.resolve("ids-0.dat"))).isFalse();
+    }
+
+    @Test
+    void reopen_idIndexMissing_rebuildsIndexes() throws Exception {
+        // Given
+        List<MockEmployee> employees = employees(5);
+        store = new MappedMockEmployeeStore(directory, () -> employees);
+        store.removeById(employees.get(1).getId());
+        store.close();
+        Files.delete(directory.resolve("ids-0.dat"));
+
+        // When
+        store = new MappedMockEmployeeStore(directory, NOT_GENERATED);
+
+        // Then
+        assertThat(Files.exists(directory.resolve("ids-0.dat"))).isTrue();
+        assertThat(store.findById(employees.get(4).getId())).contains(employees.get(4));
+        assertThat(store.findById(employees.get(1).getId())).isEmpty();
+        assertThat(store.removeByName(employees.get(2).getName())).contains(employees.get(2));
+    }
+
+    @Test
+    void add_pastFullTables_growsThemAndKeepsLookups() throws Exception {
+        // Given - tables start with 1024 entries and are full at half that
+        store = new MappedMockEmployeeStore(directory, List::of);
+        List<MockEmployee> employees = employees(1500);
+
+        // When
+        employees.forEach(store::add);
+
+        // Then
+        for (MockEmployee employee : employees) {
+            assertThat(store.findById(employee.getId())).contains(employee);
+        }
+        assertThat(store.removeByName(employees.get(1499).getName())).contains(employees.get(1499));
+        store.close();
+        store = new MappedMockEmployeeStore(directory, NOT_GENERATED);
+        assertThat(store.findById(employees.get(0).getId())).contains(employees.get(0));
+        assertThat(store.size()).isEqualTo(1499);
+    }
+
+    @Test
+    void removeByName_severalMatches_removesOldestFirst() {
+        // Given
+        MockEmployee first = employee("Sam Taylor");
+        MockEmployee second = employee("SAM TAYLOR");
+        MockEmployee third = employee("sam taylor");
+        store = new MappedMockEmployeeStore(directory, () -> List.of(first, employee("Jane Smith"), second, third));
+
+        // When/Then
+        assertThat(store.removeByName("sam Taylor")).contains(first);
+        assertThat(store.removeByName("sam Taylor")).contains(second);
+        assertThat(store.getAll()).extracting(MockEmployee::getName).containsExactly("Jane Smith", "sam taylor");
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        List<MockEmployee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee("Employee Number" + i));
+        }
+        return employees;
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50000)
+                .age(30)
+                .title("Developer")
+                .email("employee@company.com")
+                .build();
+    }
+}
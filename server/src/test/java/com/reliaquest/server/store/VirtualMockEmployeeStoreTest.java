@@ -0,0 +1,34 @@
+package com.reliaquest.server.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class VirtualMockEmployeeStoreTest {
+
+    @Test
+    void getAll_afterDeletesAndCreates_listsEmployeesInPageOrder() {
+        // Given
+        VirtualMockEmployeeStore store = new VirtualMockEmployeeStore(200, 42L, Locale.US);
+        List<MockEmployee> generated = store.getPage(0, Long.MAX_VALUE, 200).employees();
+        for (int index : new int[] {0, 1, 2, 50, 51, 120, 199}) {
+            store.removeById(generated.get(index).getId());
+        }
+        MockEmployee created = generated.get(7).toBuilder().id(UUID.randomUUID()).build();
+        store.add(created);
+
+        // When
+        List<MockEmployee> all = store.getAll();
+
+        // Then
+        assertThat(all).hasSize(194);
+        assertThat(all).containsExactlyElementsOf(store.getPage(0, Long.MAX_VALUE, 1000).employees());
+        assertThat(all.get(0)).isEqualTo(generated.get(3));
+        assertThat(all.get(47)).isEqualTo(generated.get(52));
+        assertThat(all.get(193)).isEqualTo(created);
+    }
+}
@@ -0,0 +1,241 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.config.RateLimitProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+class RandomRequestLimitInterceptorTest {
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        // A window long enough that no budget is paid back while a test runs
+        properties = new RateLimitProperties();
+        properties.setRequests(3);
+        properties.setWindow(Duration.ofHours(1));
+    }
+
+    @Test
+    void preHandle_budgetSpent_pacesAtOneRequestPerInterval() throws Exception {
+        // Given
+        RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor(properties);
+        HandlerMethod getEmployees = endpoint("getEmployees");
+
+        // When
+        List<Boolean> admitted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            admitted.add(admits(interceptor, request("10.0.0.1"), getEmployees));
+        }
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        boolean fourth = interceptor.preHandle(request("10.0.0.1"), rejected, getEmployees);
+
+        // Then - the fourth request waits one interval of window / requests
+        assertThat(admitted).containsExactly(true, true, true);
+        assertThat(fourth).isFalse();
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(Integer.parseInt(rejected.getHeader(HttpHeaders.RETRY_AFTER))).isBetween(1190, 1200);
+    }
+
+    @Test
+    void preHandle_concurrentRequests_admitsNoMoreThanBudget() throws Exception {
+        // Given
+        properties.setRequests(50);
+        RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor(properties);
+        HandlerMethod getEmployees = endpoint("getEmployees");
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        try {
+            List<Future<?>> clients = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                clients.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 20; i++) {
+                        if (admits(interceptor, request("10.0.0.1"), getEmployees)) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertThat(admitted.get()).isEqualTo(50);
+    }
+
+    @Test
+    void preHandle_headerClientKey_keepsBudgetPerHeaderValue() throws Exception {
+        // Given
+        properties.setRequests(1);
+        properties.setClientKey(RateLimitProperties.ClientKey.HEADER);
+        RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor(properties);
+        HandlerMethod getEmployees = endpoint("getEmployees");
+
+        // When/Then - every request comes from the same address, only the header tells clients apart
+        assertThat(admits(interceptor, request("10.0.0.1", "alpha"), getEmployees)).isTrue();
+        assertThat(admits(interceptor, request("10.0.0.1", "beta"), getEmployees)).isTrue();
+        assertThat(admits(interceptor, request("10.0.0.1", "alpha"), getEmployees)).isFalse();
+        assertThat(admits(interceptor, request("10.0.0.1"), getEmployees)).isTrue();
+        assertThat(admits(interceptor, request("10.0.0.1"), getEmployees)).isFalse();
+    }
+
+    @Test
+    void preHandle_perEndpoint_keepsBudgetPerEndpoint() throws Exception {
+        // Given
+        properties.setRequests(1);
+        properties.setPerEndpoint(true);
+        RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor(properties);
+
+        // When/Then
+        assertThat(admits(interceptor, request("10.0.0.1"), endpoint("getEmployees"))).isTrue();
+        assertThat(admits(interceptor, request("10.0.0.1"), endpoint("deleteEmployee"))).isTrue();
+        assertThat(admits(interceptor, request("10.0.0.1"), endpoint("getEmployees"))).isFalse();
+    }
+
+    @Test
+    void preHandle_sharedBudget_countsEveryEndpoint() throws Exception {
+        // Given
+        properties.setRequests(1);
+        RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor(properties);
+
+        // When/Then
+        assertThat(admits(interceptor, request("10.0.0.1"), endpoint("getEmployees"))).isTrue();
+        assertThat(admits(interceptor, request("10.0.0.1"), endpoint("deleteEmployee"))).isFalse();
+    }
+
+    @Test
+    void preHandle_endpointLimit_overridesSharedBudget() throws Exception {
+        // Given
+        properties.setRequests(1);
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setRequests(2);
+        properties.getEndpoints().put("getEmployees", limit);
+        RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor(properties);
+        HandlerMethod getEmployees = endpoint("getEmployees");
+
+        // When/Then
+        assertThat(admits(interceptor, request("10.0.0.1"), getEmployees)).isTrue();
+        assertThat(admits(interceptor, request("10.0.0.1"), getEmployees)).isTrue();
+        assertThat(admits(interceptor, request("10.0.0.1"), getEmployees)).isFalse();
+    }
+
+    @Test
+    void afterCompletion_notModifiedWithExemption_refundsToken() throws Exception {
+        // Given
+        properties.setRequests(1);
+        properties.setExemptNotModified(true);
+        RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor(properties);
+        HandlerMethod getEmployees = endpoint("getEmployees");
+
+        // When
+        boolean revalidated = call(interceptor, getEmployees, HttpStatus.NOT_MODIFIED);
+        boolean fetched = call(interceptor, getEmployees, HttpStatus.OK);
+        boolean rejected = call(interceptor, getEmployees, HttpStatus.OK);
+
+        // Then
+        assertThat(revalidated).isTrue();
+        assertThat(fetched).isTrue();
+        assertThat(rejected).isFalse();
+    }
+
+    @Test
+    void afterCompletion_notModifiedWithoutExemption_keepsToken() throws Exception {
+        // Given
+        properties.setRequests(1);
+        RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor(properties);
+        HandlerMethod getEmployees = endpoint("getEmployees");
+
+        // When
+        boolean revalidated = call(interceptor, getEmployees, HttpStatus.NOT_MODIFIED);
+        boolean rejected = call(interceptor, getEmployees, HttpStatus.OK);
+
+        // Then
+        assertThat(revalidated).isTrue();
+        assertThat(rejected).isFalse();
+    }
+
+    @Test
+    void preHandle_maxClientsActive_newClientsShareOneBudget() throws Exception {
+        // Given
+        properties.setRequests(1);
+        properties.setMaxClients(2);
+        RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor(properties);
+        HandlerMethod getEmployees = endpoint("getEmployees");
+        admits(interceptor, request("10.0.0.1"), getEmployees);
+        admits(interceptor, request("10.0.0.2"), getEmployees);
+
+        // When
+        boolean third = admits(interceptor, request("10.0.0.3"), getEmployees);
+        boolean fourth = admits(interceptor, request("10.0.0.4"), getEmployees);
+
+        // Then - neither tracked client is idle yet, so the newcomers are not given a budget each
+        assertThat(third).isTrue();
+        assertThat(fourth).isFalse();
+    }
+
+    private static boolean admits(
+            RandomRequestLimitInterceptor interceptor, MockHttpServletRequest request, HandlerMethod handler)
+            throws Exception {
+        return interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+    }
+
+    private static boolean call(RandomRequestLimitInterceptor interceptor, HandlerMethod handler, HttpStatus status)
+            throws Exception {
+        MockHttpServletRequest request = request("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (!interceptor.preHandle(request, response, handler)) {
+            return false;
+        }
+        response.setStatus(status.value());
+        interceptor.afterCompletion(request, response, handler, null);
+        return true;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String clientId) {
+        MockHttpServletRequest request = request(remoteAddress);
+        request.addHeader("X-Client-Id", clientId);
+        return request;
+    }
+
+    private static HandlerMethod endpoint(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), name);
+    }
+
+    static class Endpoints {
+        public void getEmployees() {}
+
+        public void deleteEmployee() {}
+    }
+}